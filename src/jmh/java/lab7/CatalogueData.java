@@ -0,0 +1,47 @@
+package lab7;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Спільні синтетичні дані для JMH-бенчмарків обох варіантів програми.
+public final class CatalogueData {
+    public static final int KEYS = 1024;
+
+    private CatalogueData() {}
+
+    // Той самий генератор, що й у --bench, тож обидва варіанти читають однаковий файл.
+    public static Path write(int size) throws IOException {
+        Path file = Files.createTempFile("exhibitions-jmh", ".txt");
+        ExhibitionCsv.write(file, ExhibitionBenchmark.generate(size, 42));
+        return file;
+    }
+
+    public static String[] names(int size) {
+        String[] names = new String[KEYS];
+        Random random = new Random(7);
+        for (int i = 0; i < KEYS; i++) {
+            names[i] = "виставка-" + random.nextInt(size);
+        }
+        return names;
+    }
+
+    public static String[] words() {
+        String[] words = new String[KEYS];
+        Random random = new Random(7);
+        for (int i = 0; i < KEYS; i++) {
+            words[i] = "слово" + random.nextInt(2000);
+        }
+        return words;
+    }
+
+    public static void silence() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    public static void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".log"));
+    }
+}
@@ -0,0 +1,77 @@
+package lab7.variant2;
+
+import lab7.CatalogueData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// JMH-версія --bench для варіанту 2; пара до lab7.CatalogueBenchmark з тими ж методами.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogueBenchmark {
+    @Param({"10000", "100000"})
+    public int size;
+
+    private Path file;
+    private ExhibitionDatabase database;
+    private String[] names;
+    private String[] words;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        CatalogueData.silence();
+        file = CatalogueData.write(size);
+        database = new ExhibitionDatabase(file.toString());
+        database.enableJournal();
+        database.loadFromFile();
+        names = CatalogueData.names(size);
+        words = CatalogueData.words();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        database.close();
+        CatalogueData.delete(file);
+    }
+
+    @Benchmark
+    public ExhibitionDatabase loadFromFile() {
+        ExhibitionDatabase loaded = new ExhibitionDatabase(file.toString());
+        loaded.loadFromFile();
+        return loaded;
+    }
+
+    @Benchmark
+    public Exhibition searchExhibitionByName() {
+        return database.searchExhibitionByName(names[next++ & (CatalogueData.KEYS - 1)]);
+    }
+
+    @Benchmark
+    public void searchCommentsByWord() {
+        database.searchCommentsByWord(words[next++ & (CatalogueData.KEYS - 1)]);
+    }
+
+    @Benchmark
+    public void addAndDelete() {
+        database.addExhibition(new Exhibition("Нова", "Художник", "Середа", 1, "новий коментар"));
+        database.deleteExhibition("Нова");
+    }
+}
@@ -0,0 +1,293 @@
+package lab7;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+// Пакетний режим без діалогу: команди з аргументів, файлу або stdin, по одній на рядок.
+class BatchRunner {
+    private final ExhibitionDatabase database;
+    private final PrintStream out;
+    private final Map<String, List<Long>> latencies = new TreeMap<>();
+    private final List<CatalogSnapshot> pinned = new ArrayList<>();
+    private int failed;
+
+    BatchRunner(ExhibitionDatabase database, PrintStream out) {
+        this.database = database;
+        this.out = out;
+    }
+
+    public static List<String> readCommands(String source) throws IOException {
+        if (source.equals("-")) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            return reader.lines().collect(Collectors.toList());
+        }
+        return Files.readAllLines(Paths.get(source), StandardCharsets.UTF_8);
+    }
+
+    public int run(List<String> commands, double rate) {
+        PrintStream console = System.out;
+        // Повідомлення бази даних ідуть у stderr, щоб stdout лишався чистим JSON.
+        System.setOut(System.err);
+        long interval = rate > 0 ? (long) (1e9 / rate) : 0;
+        long started = System.nanoTime();
+        int sequence = 0;
+        try {
+            for (String line : commands) {
+                String command = line.trim();
+                if (command.isEmpty() || command.startsWith("#")) {
+                    continue;
+                }
+                long scheduled = interval > 0 ? started + sequence * interval : System.nanoTime();
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                sequence++;
+                StringBuilder result = new StringBuilder();
+                String name = command.split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+                String error = null;
+                try {
+                    execute(name, command.substring(name.length()).trim(), result);
+                } catch (RuntimeException e) {
+                    error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                }
+                long latency = System.nanoTime() - scheduled;
+                latencies.computeIfAbsent(name, key -> new ArrayList<>()).add(latency);
+
+                StringBuilder json = new StringBuilder("{\"seq\":").append(sequence).append(",\"command\":");
+                ExhibitionJson.appendString(json, name);
+                json.append(",\"ok\":").append(error == null);
+                json.append(",\"micros\":").append(latency / 1_000);
+                if (error == null) {
+                    json.append(",\"result\":").append(result);
+                } else {
+                    failed++;
+                    json.append(",\"error\":");
+                    ExhibitionJson.appendString(json, error);
+                }
+                out.println(json.append('}'));
+            }
+        } finally {
+            System.setOut(console);
+            for (CatalogSnapshot snapshot : pinned) {
+                database.releaseSnapshot(snapshot);
+            }
+            pinned.clear();
+        }
+        printSummary(sequence, System.nanoTime() - started);
+        return failed;
+    }
+
+    private void execute(String name, String argument, StringBuilder result) {
+        switch (name) {
+            case "add": {
+                result.append(database.addExhibition(ExhibitionCsv.parseLine(argument)));
+                break;
+            }
+            case "edit": {
+                Exhibition exhibition = ExhibitionCsv.parseLine(argument);
+                result.append(database.editExhibition(exhibition.getName(), exhibition));
+                break;
+            }
+            case "delete":
+                result.append(database.deleteExhibition(argument));
+                break;
+            case "find": {
+                Exhibition exhibition = database.searchExhibitionByName(argument);
+                if (exhibition == null) {
+                    result.append("null");
+                } else {
+                    ExhibitionJson.appendObject(result, exhibition);
+                }
+                break;
+            }
+            case "search-comments":
+                ExhibitionJson.appendArray(result, database.findByComments(argument));
+                break;
+            case "suggest":
+                ExhibitionJson.appendArray(result, database.suggestNames(argument, Main.PAGE_SIZE));
+                break;
+            case "similar":
+                ExhibitionJson.appendArray(result, database.searchSimilarNames(argument, Main.PAGE_SIZE));
+                break;
+            case "sort": {
+                String[] parts = argument.split("\\s+");
+                int limit = Main.PAGE_SIZE;
+                String parameter = argument;
+                if (parts.length > 1 && parts[parts.length - 1].matches("\\d+")) {
+                    limit = Integer.parseInt(parts[parts.length - 1]);
+                    parameter = argument.substring(0, argument.lastIndexOf(parts[parts.length - 1])).trim();
+                }
+                if (!ExhibitionDatabase.isSortParameter(parameter)) {
+                    throw new IllegalArgumentException("Невідомий параметр для сортування: " + parameter);
+                }
+                ExhibitionJson.appendArray(result, database.getSortedPage(parameter, null, limit));
+                break;
+            }
+            case "total": {
+                result.append("{\"total\":").append(database.getTotalVisitors()).append(",\"days\":");
+                ExhibitionJson.appendTotals(result, database.getVisitorsByDay());
+                result.append('}');
+                break;
+            }
+            case "min-day": {
+                Map<String, Long> totals = database.getVisitorsByDay();
+                if (totals.isEmpty()) {
+                    result.append("null");
+                    break;
+                }
+                Map.Entry<String, Long> quietest = Collections.min(totals.entrySet(), Map.Entry.comparingByValue());
+                result.append("{\"day\":");
+                ExhibitionJson.appendString(result, quietest.getKey());
+                result.append(",\"visitors\":").append(quietest.getValue()).append(",\"exhibition\":");
+                ExhibitionJson.appendObject(result, database.getSortedPage("кількість відвідувачів", null, 1).get(0));
+                result.append('}');
+                break;
+            }
+            case "count":
+                result.append(database.size());
+                break;
+            case "cache-stats":
+                result.append(database.getResultCache().stats());
+                break;
+            case "metrics":
+                result.append(ExhibitionMetrics.toJson());
+                break;
+            case "changes": {
+                ChangeFeed feed = database.getChangeFeed();
+                if (feed == null) {
+                    throw new IllegalStateException("Потік змін не ввімкнено (--changes)");
+                }
+                String[] parts = argument.isEmpty() ? new String[0] : argument.split("\\s+");
+                long after = parts.length > 0 ? Long.parseLong(parts[0]) : 0;
+                int limit = parts.length > 1 ? Integer.parseInt(parts[1]) : 1000;
+                List<ChangeEvent> events;
+                try {
+                    events = feed.readAfter(after, limit);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                result.append("{\"sequence\":").append(feed.getSequence()).append(",\"events\":");
+                ChangeEvent.appendArray(result, events);
+                result.append('}');
+                break;
+            }
+            case "pin": {
+                CatalogSnapshot snapshot = database.pinSnapshot();
+                pinned.add(snapshot);
+                result.append("{\"version\":").append(snapshot.getVersion()).append(",\"count\":").append(snapshot.getRows().size()).append('}');
+                break;
+            }
+            case "release": {
+                long version = Long.parseLong(argument);
+                CatalogSnapshot released = null;
+                for (CatalogSnapshot snapshot : pinned) {
+                    if (snapshot.getVersion() == version) {
+                        released = snapshot;
+                        break;
+                    }
+                }
+                if (released != null) {
+                    pinned.remove(released);
+                    database.releaseSnapshot(released);
+                }
+                result.append(released != null);
+                break;
+            }
+            case "diff": {
+                String[] parts = argument.split("\\s+");
+                long from = Long.parseLong(parts[0]);
+                long to = parts.length > 1 ? Long.parseLong(parts[1]) : database.getVersion();
+                CatalogDiff diff = database.diff(from, to);
+                result.append("{\"from\":").append(diff.getFromVersion()).append(",\"to\":").append(diff.getToVersion());
+                result.append(",\"upserted\":");
+                ExhibitionJson.appendArray(result, diff.getUpserted());
+                result.append(",\"deleted\":[");
+                for (int i = 0; i < diff.getDeleted().size(); i++) {
+                    if (i > 0) {
+                        result.append(',');
+                    }
+                    ExhibitionJson.appendString(result, diff.getDeleted().get(i));
+                }
+                result.append("]}");
+                break;
+            }
+            case "calendar": {
+                long[] weekdays = database.getVisitorsByWeekday();
+                Map<String, Long> byWeekday = new LinkedHashMap<>();
+                for (int i = 0; i < weekdays.length; i++) {
+                    byWeekday.put(ExhibitionDay.WEEKDAY_NAMES[i], weekdays[i]);
+                }
+                result.append("{\"weekdays\":");
+                ExhibitionJson.appendTotals(result, byWeekday);
+                if (!argument.isEmpty()) {
+                    LocalDate[] period = parsePeriod(argument);
+                    Map<String, Long> weeks = new LinkedHashMap<>();
+                    database.getVisitorsByWeek(period[0], period[1]).forEach((week, visitors) -> weeks.put(week.toString(), visitors));
+                    result.append(",\"total\":").append(database.visitorsBetween(period[0], period[1])).append(",\"weeks\":");
+                    ExhibitionJson.appendTotals(result, weeks);
+                }
+                result.append('}');
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Невідома команда: " + name);
+        }
+    }
+
+    private static LocalDate[] parsePeriod(String argument) {
+        String[] parts = argument.split("\\s+");
+        LocalDate from = parts.length == 2 ? ExhibitionDay.parseDate(parts[0]) : null;
+        LocalDate to = parts.length == 2 ? ExhibitionDay.parseDate(parts[1]) : null;
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Очікувався період: рррр-мм-дд рррр-мм-дд");
+        }
+        return new LocalDate[] {from, to};
+    }
+
+    private void printSummary(int executed, long elapsed) {
+        List<Long> all = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+            all.addAll(entry.getValue());
+            out.println(summaryLine(entry.getKey(), entry.getValue()));
+        }
+        StringBuilder total = summaryLine("*", all);
+        total.setLength(total.length() - 1);
+        total.append(",\"failed\":").append(failed);
+        total.append(",\"seconds\":").append(String.format(Locale.ROOT, "%.3f", elapsed / 1e9));
+        total.append(",\"perSecond\":").append(String.format(Locale.ROOT, "%.1f", executed / Math.max(elapsed / 1e9, 1e-9)));
+        out.println(total.append('}'));
+    }
+
+    private static StringBuilder summaryLine(String command, List<Long> samples) {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        StringBuilder line = new StringBuilder("{\"summary\":");
+        ExhibitionJson.appendString(line, command);
+        line.append(",\"count\":").append(sorted.length);
+        line.append(",\"p50\":").append(percentile(sorted, 0.50) / 1_000);
+        line.append(",\"p90\":").append(percentile(sorted, 0.90) / 1_000);
+        line.append(",\"p99\":").append(percentile(sorted, 0.99) / 1_000);
+        line.append(",\"max\":").append(sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000);
+        return line.append('}');
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
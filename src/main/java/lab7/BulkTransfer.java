@@ -0,0 +1,134 @@
+package lab7;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Пакетний імпорт і експорт з паралельним розбором рядків і одним записом файлу.
+class BulkTransfer {
+    private static final int REPORTED_ERRORS = 10;
+
+    public static void importRows(ExhibitionDatabase database, String source) throws IOException {
+        long started = System.nanoTime();
+        List<String> lines;
+        if (source.equals("-")) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            lines = reader.lines().collect(Collectors.toList());
+        } else {
+            lines = Files.readAllLines(Paths.get(source), StandardCharsets.UTF_8);
+        }
+        boolean json = isJson(source, lines);
+
+        List<Object> parsed = IntStream.range(0, lines.size()).parallel()
+                .mapToObj(i -> validate(lines.get(i), i + 1, json))
+                .collect(Collectors.toList());
+
+        List<Exhibition> accepted = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int blank = 0;
+        for (Object row : parsed) {
+            if (row == null) {
+                blank++;
+            } else if (row instanceof String) {
+                errors.add((String) row);
+            } else if (!seen.add(ExhibitionDatabase.nameKey(((Exhibition) row).getName()))) {
+                errors.add("Дублікат назви в імпорті: " + ((Exhibition) row).getName());
+            } else {
+                accepted.add((Exhibition) row);
+            }
+        }
+        List<Exhibition> rejectedByDatabase = database.addAll(accepted);
+        for (Exhibition exhibition : rejectedByDatabase) {
+            errors.add("Виставка вже існує: " + exhibition.getName());
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        int imported = accepted.size() - rejectedByDatabase.size();
+        for (int i = 0; i < Math.min(errors.size(), REPORTED_ERRORS); i++) {
+            System.err.println(errors.get(i));
+        }
+        System.out.println("Прочитано рядків: " + (lines.size() - blank));
+        System.out.println("Імпортовано: " + imported + ", відхилено: " + errors.size());
+        System.out.printf("Час: %.3f с, швидкість: %.0f рядків/с%n", seconds, (lines.size() - blank) / Math.max(seconds, 1e-9));
+    }
+
+    private static Object validate(String line, int lineNumber, boolean json) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            Exhibition exhibition = json ? ExhibitionJson.parseExhibition(line) : ExhibitionCsv.parseLine(line);
+            if (exhibition.getName().isBlank()) {
+                return "Рядок " + lineNumber + ": порожня назва";
+            }
+            if (exhibition.getVisitorsCount() < 0) {
+                return "Рядок " + lineNumber + ": від'ємна кількість відвідувачів";
+            }
+            return exhibition;
+        } catch (IllegalArgumentException e) {
+            return "Рядок " + lineNumber + ": " + (e.getMessage() == null ? "невірний формат" : e.getMessage());
+        }
+    }
+
+    private static boolean isJson(String source, List<String> lines) {
+        String lower = source.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jsonl") || lower.endsWith(".json")) {
+            return true;
+        }
+        if (!source.equals("-")) {
+            return false;
+        }
+        for (String line : lines) {
+            if (!line.isBlank()) {
+                return line.trim().startsWith("{");
+            }
+        }
+        return false;
+    }
+
+    public static void exportRows(ExhibitionDatabase database, String target) throws IOException {
+        long started = System.nanoTime();
+        List<Exhibition> rows = database.getExhibitions();
+        String lower = target.toLowerCase(Locale.ROOT);
+        boolean json = lower.endsWith(".jsonl") || lower.endsWith(".json");
+        OutputStream stream = target.equals("-") ? nonClosing(System.out) : new FileOutputStream(target);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16)) {
+            StringBuilder line = new StringBuilder(256);
+            for (Exhibition exhibition : rows) {
+                line.setLength(0);
+                if (json) {
+                    ExhibitionJson.appendObject(line, exhibition);
+                } else {
+                    ExhibitionCsv.appendRow(line, exhibition);
+                }
+                line.append('\n');
+                writer.append(line);
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.err.printf("Експортовано записів: %d за %.3f с%n", rows.size(), seconds);
+    }
+
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
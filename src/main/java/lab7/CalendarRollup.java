@@ -0,0 +1,105 @@
+package lab7;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Календарні підсумки відвідувачів: дні тижня і блоки дат з деревами Фенвіка.
+class CalendarRollup {
+    private static final int BLOCK_DAYS = 1024;
+
+    private final long[] weekdayVisitors = new long[7];
+    private final int[] weekdayExhibitions = new int[7];
+    private final NavigableMap<Integer, DateBlock> blocks = new TreeMap<>();
+
+    public void add(Exhibition exhibition) {
+        change(exhibition.getParsedDay(), exhibition.getVisitorsCount(), 1);
+    }
+
+    public void remove(Exhibition exhibition) {
+        change(exhibition.getParsedDay(), -exhibition.getVisitorsCount(), -1);
+    }
+
+    private void change(ExhibitionDay day, long delta, int count) {
+        if (day.getDayOfWeek() == null) {
+            return;
+        }
+        int weekday = day.getDayOfWeek().ordinal();
+        weekdayVisitors[weekday] += delta;
+        weekdayExhibitions[weekday] += count;
+        if (day.hasDate()) {
+            int key = Math.floorDiv(day.getEpochDay(), BLOCK_DAYS);
+            DateBlock block = blocks.computeIfAbsent(key, k -> new DateBlock());
+            block.add(Math.floorMod(day.getEpochDay(), BLOCK_DAYS), delta, count);
+            if (block.exhibitions == 0) {
+                blocks.remove(key);
+            }
+        }
+    }
+
+    public long visitorsBetween(LocalDate from, LocalDate to) {
+        long lo = from.toEpochDay();
+        long hi = to.toEpochDay();
+        if (lo > hi || blocks.isEmpty()) {
+            return 0;
+        }
+        int firstKey = (int) Math.max(Integer.MIN_VALUE, Math.floorDiv(lo, BLOCK_DAYS));
+        int lastKey = (int) Math.min(Integer.MAX_VALUE, Math.floorDiv(hi, BLOCK_DAYS));
+        long sum = 0;
+        for (Map.Entry<Integer, DateBlock> entry : blocks.subMap(firstKey, true, lastKey, true).entrySet()) {
+            long start = (long) entry.getKey() * BLOCK_DAYS;
+            int first = (int) Math.max(lo - start, 0);
+            int last = (int) Math.min(hi - start, BLOCK_DAYS - 1);
+            DateBlock block = entry.getValue();
+            sum += first == 0 && last == BLOCK_DAYS - 1 ? block.visitors : block.prefix(last + 1) - block.prefix(first);
+        }
+        return sum;
+    }
+
+    public Map<LocalDate, Long> visitorsByWeek(LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> weeks = new TreeMap<>();
+        for (LocalDate monday = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)); !monday.isAfter(to); monday = monday.plusWeeks(1)) {
+            LocalDate start = monday.isBefore(from) ? from : monday;
+            LocalDate sunday = monday.plusDays(6);
+            long visitors = visitorsBetween(start, sunday.isAfter(to) ? to : sunday);
+            if (visitors != 0) {
+                weeks.put(monday, visitors);
+            }
+        }
+        return weeks;
+    }
+
+    public long[] getWeekdayVisitors() {
+        return weekdayVisitors.clone();
+    }
+
+    public int[] getWeekdayExhibitions() {
+        return weekdayExhibitions.clone();
+    }
+
+    // Дерево Фенвіка за днями одного блоку; порожній блок видаляється з карти.
+    private static final class DateBlock {
+        private final long[] tree = new long[BLOCK_DAYS + 1];
+        private long visitors;
+        private int exhibitions;
+
+        void add(int position, long delta, int count) {
+            visitors += delta;
+            exhibitions += count;
+            for (int i = position + 1; i <= BLOCK_DAYS; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        long prefix(int count) {
+            long sum = 0;
+            for (int i = count; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
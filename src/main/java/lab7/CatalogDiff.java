@@ -0,0 +1,35 @@
+package lab7;
+
+import java.util.Collections;
+import java.util.List;
+
+// Різниця між двома версіями: останній стан змінених виставок і назви видалених.
+final class CatalogDiff {
+    private final long fromVersion;
+    private final long toVersion;
+    private final List<Exhibition> upserted;
+    private final List<String> deleted;
+
+    CatalogDiff(long fromVersion, long toVersion, List<Exhibition> upserted, List<String> deleted) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.upserted = Collections.unmodifiableList(upserted);
+        this.deleted = Collections.unmodifiableList(deleted);
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public List<Exhibition> getUpserted() {
+        return upserted;
+    }
+
+    public List<String> getDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,23 @@
+package lab7;
+
+import java.util.Collections;
+import java.util.List;
+
+// Незмінний знімок каталогу на певну версію: звіти й експорт читають його без замка бази.
+final class CatalogSnapshot {
+    private final long version;
+    private final List<Exhibition> rows;
+
+    CatalogSnapshot(long version, List<Exhibition> rows) {
+        this.version = version;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Exhibition> getRows() {
+        return rows;
+    }
+}
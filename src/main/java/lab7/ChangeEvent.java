@@ -0,0 +1,65 @@
+package lab7;
+
+import java.util.List;
+import java.util.Map;
+
+// Подія потоку змін: операція add, edit або delete з наскрізним порядковим номером.
+final class ChangeEvent {
+    private final long sequence;
+    private final String operation;
+    private final String key;
+    private final Exhibition exhibition;
+
+    ChangeEvent(long sequence, String operation, String key, Exhibition exhibition) {
+        this.sequence = sequence;
+        this.operation = operation;
+        this.key = key;
+        this.exhibition = exhibition;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Exhibition getExhibition() {
+        return exhibition;
+    }
+
+    public StringBuilder appendJson(StringBuilder out) {
+        out.append("{\"seq\":").append(sequence).append(",\"op\":");
+        ExhibitionJson.appendString(out, operation);
+        out.append(",\"key\":");
+        ExhibitionJson.appendString(out, key);
+        if (exhibition != null) {
+            out.append(',');
+            StringBuilder object = ExhibitionJson.appendObject(new StringBuilder(), exhibition);
+            out.append(object, 1, object.length() - 1);
+        }
+        return out.append('}');
+    }
+
+    public static StringBuilder appendArray(StringBuilder out, List<ChangeEvent> events) {
+        out.append('[');
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            events.get(i).appendJson(out);
+        }
+        return out.append(']');
+    }
+
+    static ChangeEvent parse(String line) {
+        Map<String, Object> fields = ExhibitionJson.parseObject(line);
+        Exhibition exhibition = fields.containsKey("name") ? ExhibitionJson.parseExhibition(line) : null;
+        return new ChangeEvent((Long) fields.get("seq"), (String) fields.get("op"), (String) fields.get("key"), exhibition);
+    }
+}
@@ -0,0 +1,184 @@
+package lab7;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Потік змін бази з наскрізною нумерацією і сегментами файлу змін.
+class ChangeFeed implements Closeable {
+    static final long SEGMENT_BYTES = 1L << 20;
+    static final int MAX_SEGMENTS = 8;
+    private static final String SEGMENT_EXTENSION = ".jsonl";
+
+    private final Path directory;
+    private final String prefix;
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private FileChannel channel;
+    private long segmentSize;
+    private long sequence;
+
+    ChangeFeed(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.directory = parent;
+        this.prefix = (dot < 0 ? name : name.substring(0, dot)) + "-changes-";
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(1);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            sequence = firstSequence(last) - 1;
+            try (BufferedReader reader = Files.newBufferedReader(last, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        if (!line.isEmpty()) {
+                            sequence = ChangeEvent.parse(line).getSequence();
+                        }
+                    } catch (RuntimeException e) {
+                        System.err.println("Невірний запис у файлі змін пропущено: " + line);
+                    }
+                }
+            }
+            boolean torn;
+            try (FileChannel reader = FileChannel.open(last, StandardOpenOption.READ)) {
+                ByteBuffer tail = ByteBuffer.allocate(1);
+                torn = reader.size() > 0 && reader.read(tail, reader.size() - 1) == 1 && tail.get(0) != '\n';
+            }
+            channel = FileChannel.open(last, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (torn) {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+            }
+            segmentSize = channel.size();
+        }
+    }
+
+    public void addListener(Consumer<ChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<ChangeEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized ChangeEvent publish(String operation, String key, Exhibition exhibition) {
+        ChangeEvent event = new ChangeEvent(++sequence, operation, key, exhibition);
+        try {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(event.appendJson(new StringBuilder()).append('\n').toString());
+            segmentSize += buffer.remaining();
+            ExhibitionMetrics.add(ExhibitionMetrics.BYTES_WRITTEN, buffer.remaining());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (segmentSize >= SEGMENT_BYTES) {
+                roll();
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка запису у файл змін: " + e.getMessage());
+        }
+        for (Consumer<ChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Помилка слухача змін: " + e.getMessage());
+            }
+        }
+        return event;
+    }
+
+    public List<ChangeEvent> readAfter(long after, int limit) throws IOException {
+        List<Path> segments;
+        long last;
+        synchronized (this) {
+            segments = segments();
+            last = sequence;
+        }
+        List<ChangeEvent> events = new ArrayList<>();
+        if (after >= last || limit <= 0) {
+            return events;
+        }
+        if (segments.isEmpty() || firstSequence(segments.get(0)) > after + 1) {
+            throw new IllegalStateException("Зміни після " + after + " вже видалено з файлу змін, потрібне повне перечитування");
+        }
+        for (int i = 0; i < segments.size() && events.size() < limit; i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= after + 1) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(segments.get(i), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null && events.size() < limit) {
+                    ChangeEvent event;
+                    try {
+                        event = line.isEmpty() ? null : ChangeEvent.parse(line);
+                    } catch (RuntimeException e) {
+                        event = null;
+                    }
+                    if (event == null || event.getSequence() <= after) {
+                        continue;
+                    }
+                    if (event.getSequence() > last) {
+                        return events;
+                    }
+                    events.add(event);
+                }
+            } catch (NoSuchFileException e) {
+                throw new IllegalStateException("Зміни після " + after + " вже видалено з файлу змін, потрібне повне перечитування");
+            }
+        }
+        return events;
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + SEGMENT_EXTENSION)) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        segments.sort(Comparator.comparingLong(this::firstSequence));
+        return segments;
+    }
+
+    private long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - SEGMENT_EXTENSION.length()));
+    }
+
+    private void openSegment(long first) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", prefix, first, SEGMENT_EXTENSION));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+    private void roll() throws IOException {
+        channel.force(false);
+        channel.close();
+        openSegment(sequence + 1);
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size() - MAX_SEGMENTS; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+}
@@ -0,0 +1,273 @@
+package lab7;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// Стовпцеве подання каталогу: відвідувачі в int[], день і художник — коди словників, назви й коментарі — в спільному масиві символів.
+class ColumnarExhibitionStore {
+    private static final int COMPACTION_MIN_GARBAGE = 1 << 20;
+
+    private int size;
+    private int[] visitors = new int[16];
+    private int[] dayCodes = new int[16];
+    private int[] artistCodes = new int[16];
+    private int[] nameOffsets = new int[16];
+    private int[] nameLengths = new int[16];
+    private int[] commentOffsets = new int[16];
+    private int[] commentLengths = new int[16];
+    private char[] arena = new char[1024];
+    private int arenaLength;
+    private int arenaGarbage;
+    private final Dictionary days = new Dictionary();
+    private final Dictionary artists = new Dictionary();
+    private final Map<String, Integer> rowsByName = new HashMap<>();
+
+    public void add(Exhibition exhibition) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        visitors[row] = exhibition.getVisitorsCount();
+        dayCodes[row] = days.encode(exhibition.getDay());
+        artistCodes[row] = artists.encode(exhibition.getArtistLastName());
+        nameOffsets[row] = append(exhibition.getName());
+        nameLengths[row] = exhibition.getName().length();
+        commentOffsets[row] = append(exhibition.getComments());
+        commentLengths[row] = exhibition.getComments().length();
+        rowsByName.put(ExhibitionDatabase.nameKey(exhibition.getName()), row);
+    }
+
+    public void remove(Exhibition exhibition) {
+        Integer row = rowsByName.remove(ExhibitionDatabase.nameKey(exhibition.getName()));
+        if (row == null) {
+            return;
+        }
+        days.release(dayCodes[row]);
+        artists.release(artistCodes[row]);
+        arenaGarbage += nameLengths[row] + commentLengths[row];
+        int last = --size;
+        if (row != last) {
+            visitors[row] = visitors[last];
+            dayCodes[row] = dayCodes[last];
+            artistCodes[row] = artistCodes[last];
+            nameOffsets[row] = nameOffsets[last];
+            nameLengths[row] = nameLengths[last];
+            commentOffsets[row] = commentOffsets[last];
+            commentLengths[row] = commentLengths[last];
+            rowsByName.put(ExhibitionDatabase.nameKey(name(row)), row);
+        }
+        if (arenaGarbage > COMPACTION_MIN_GARBAGE && arenaGarbage > arenaLength / 2) {
+            compactArena();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int visitors(int row) {
+        return visitors[row];
+    }
+
+    public int dayCode(int row) {
+        return dayCodes[row];
+    }
+
+    public int artistCode(int row) {
+        return artistCodes[row];
+    }
+
+    // -1, якщо такого значення в каталозі немає.
+    public int dayCodeOf(String day) {
+        return days.codeOf(day);
+    }
+
+    public int artistCodeOf(String artistLastName) {
+        return artists.codeOf(artistLastName);
+    }
+
+    public String day(int code) {
+        return days.value(code);
+    }
+
+    public String artist(int code) {
+        return artists.value(code);
+    }
+
+    public String name(int row) {
+        return new String(arena, nameOffsets[row], nameLengths[row]);
+    }
+
+    public Exhibition materialize(int row) {
+        return new Exhibition(name(row), artists.value(artistCodes[row]), days.value(dayCodes[row]), visitors[row],
+                new String(arena, commentOffsets[row], commentLengths[row]));
+    }
+
+    // Верхня межа кодів словника: звільнені коди лишаються в діапазоні до повторного використання.
+    public int dayCodeLimit() {
+        return days.limit();
+    }
+
+    public int artistCodeLimit() {
+        return artists.limit();
+    }
+
+    public IntStream rows(boolean parallel) {
+        return StreamSupport.intStream(new RowSpliterator(0, size), parallel);
+    }
+
+    public long sumVisitors(int dayCode, int artistCode) {
+        long sum = 0;
+        for (int row = 0; row < size; row++) {
+            if ((dayCode < 0 || dayCodes[row] == dayCode) && (artistCode < 0 || artistCodes[row] == artistCode)) {
+                sum += visitors[row];
+            }
+        }
+        return sum;
+    }
+
+    private int append(String value) {
+        if (arenaLength + value.length() > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + value.length()));
+        }
+        value.getChars(0, value.length(), arena, arenaLength);
+        int offset = arenaLength;
+        arenaLength += value.length();
+        return offset;
+    }
+
+    private void compactArena() {
+        char[] compacted = new char[Math.max(1024, arenaLength - arenaGarbage)];
+        int length = 0;
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(arena, nameOffsets[row], compacted, length, nameLengths[row]);
+            nameOffsets[row] = length;
+            length += nameLengths[row];
+            System.arraycopy(arena, commentOffsets[row], compacted, length, commentLengths[row]);
+            commentOffsets[row] = length;
+            length += commentLengths[row];
+        }
+        arena = compacted;
+        arenaLength = length;
+        arenaGarbage = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= visitors.length) {
+            return;
+        }
+        int grown = Math.max(capacity, visitors.length * 2);
+        visitors = Arrays.copyOf(visitors, grown);
+        dayCodes = Arrays.copyOf(dayCodes, grown);
+        artistCodes = Arrays.copyOf(artistCodes, grown);
+        nameOffsets = Arrays.copyOf(nameOffsets, grown);
+        nameLengths = Arrays.copyOf(nameLengths, grown);
+        commentOffsets = Arrays.copyOf(commentOffsets, grown);
+        commentLengths = Arrays.copyOf(commentLengths, grown);
+    }
+
+    // Код звільняється, коли зникає останній рядок з цим значенням, і видається наступному новому значенню.
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int[] references = new int[16];
+        private final Deque<Integer> free = new ArrayDeque<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (free.isEmpty()) {
+                    code = values.size();
+                    values.add(value);
+                    if (code == references.length) {
+                        references = Arrays.copyOf(references, code * 2);
+                    }
+                } else {
+                    code = free.pop();
+                    values.set(code, value);
+                }
+                codes.put(value, code);
+            }
+            references[code]++;
+            return code;
+        }
+
+        void release(int code) {
+            if (--references[code] == 0) {
+                codes.remove(values.get(code));
+                values.set(code, null);
+                free.push(code);
+            }
+        }
+
+        int codeOf(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int limit() {
+            return values.size();
+        }
+    }
+
+    private static class RowSpliterator implements Spliterator.OfInt {
+        private static final int MIN_SPLIT = 4096;
+
+        private int next;
+        private final int end;
+
+        RowSpliterator(int from, int to) {
+            this.next = from;
+            this.end = to;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int remaining = end - next;
+            if (remaining < 2 * MIN_SPLIT) {
+                return null;
+            }
+            int middle = next + remaining / 2;
+            RowSpliterator prefix = new RowSpliterator(next, middle);
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (next >= end) {
+                return false;
+            }
+            action.accept(next++);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (int row = next; row < end; row++) {
+                action.accept(row);
+            }
+            next = end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+}
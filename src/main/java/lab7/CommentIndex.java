@@ -0,0 +1,137 @@
+package lab7;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Інвертований індекс коментарів: слово -> виставки, у коментарях яких воно трапляється.
+class CommentIndex {
+    private final NavigableMap<String, Set<Exhibition>> postings = new TreeMap<>();
+
+    public void add(Exhibition exhibition) {
+        for (String token : tokenize(exhibition.getComments())) {
+            postings.computeIfAbsent(token, key -> new LinkedHashSet<>()).add(exhibition);
+        }
+    }
+
+    public void remove(Exhibition exhibition) {
+        for (String token : tokenize(exhibition.getComments())) {
+            Set<Exhibition> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(exhibition);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    public List<Exhibition> query(String query) {
+        Set<Exhibition> result = new LinkedHashSet<>();
+        for (String group : query.split("\\|")) {
+            List<Set<Exhibition>> terms = new ArrayList<>();
+            for (String term : queryTerms(group)) {
+                terms.add(lookup(term));
+            }
+            if (terms.isEmpty()) {
+                continue;
+            }
+            terms.sort(Comparator.comparingInt(Set::size));
+            for (Exhibition exhibition : terms.get(0)) {
+                boolean matchesAll = true;
+                for (int i = 1; i < terms.size() && matchesAll; i++) {
+                    matchesAll = terms.get(i).contains(exhibition);
+                }
+                if (matchesAll) {
+                    result.add(exhibition);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    public static boolean matches(String query, Set<String> tokens) {
+        for (String group : query.split("\\|")) {
+            boolean matchesAll = false;
+            for (String term : queryTerms(group)) {
+                boolean prefix = term.endsWith("*");
+                String normalized = prefix ? term.substring(0, term.length() - 1) : term;
+                boolean found = prefix ? tokens.stream().anyMatch(token -> token.startsWith(normalized)) : tokens.contains(normalized);
+                if (!found) {
+                    matchesAll = false;
+                    break;
+                }
+                matchesAll = true;
+            }
+            if (matchesAll) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Exhibition> lookup(String term) {
+        boolean prefix = term.endsWith("*");
+        String normalized = prefix ? term.substring(0, term.length() - 1) : term;
+        if (!prefix) {
+            return postings.getOrDefault(normalized, Collections.emptySet());
+        }
+        Set<Exhibition> result = new LinkedHashSet<>();
+        for (Set<Exhibition> posting : postings.subMap(normalized, true, normalized + Character.MAX_VALUE, true).values()) {
+            result.addAll(posting);
+        }
+        return result;
+    }
+
+    static Set<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    private static Set<String> tokenize(String text, boolean hyphenParts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && (Character.isLetterOrDigit(text.charAt(i))
+                    || start >= 0 && isJoiner(text.charAt(i)) && i + 1 < text.length() && Character.isLetterOrDigit(text.charAt(i + 1)));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = normalize(text.substring(start, i));
+                tokens.add(word);
+                if (hyphenParts && word.indexOf('-') >= 0) {
+                    for (String part : word.split("-")) {
+                        tokens.add(part);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> queryTerms(String group) {
+        List<String> terms = new ArrayList<>();
+        for (String term : group.trim().split("\\s+")) {
+            boolean prefix = term.endsWith("*");
+            List<String> words = new ArrayList<>(tokenize(prefix ? term.substring(0, term.length() - 1) : term, false));
+            for (int i = 0; i < words.size(); i++) {
+                terms.add(prefix && i == words.size() - 1 ? words.get(i) + "*" : words.get(i));
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isJoiner(char c) {
+        return c == '\'' || c == '\u2019' || c == '\u02bc' || c == '-';
+    }
+
+    private static String normalize(String word) {
+        return word.toLowerCase(Locale.ROOT).replace('\u2019', '\'').replace('\u02bc', '\'');
+    }
+}
@@ -0,0 +1,191 @@
+package lab7;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Потокобезпечний варіант бази: справедливий замок читання-запису, бо StampedLock пропускає нових читачів повз записувача, що чекає.
+class ConcurrentExhibitionDatabase extends ExhibitionDatabase {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+
+    public ConcurrentExhibitionDatabase(String fileName) {
+        super(fileName);
+    }
+
+    public ConcurrentExhibitionDatabase(StorageEngine storage) {
+        super(storage);
+    }
+
+    public <T> T read(Supplier<T> action) {
+        long started = ExhibitionMetrics.start();
+        lock.readLock().lock();
+        ExhibitionMetrics.READ_LOCK_WAIT.record(started);
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T> T write(Supplier<T> action) {
+        long started = ExhibitionMetrics.start();
+        lock.writeLock().lock();
+        ExhibitionMetrics.WRITE_LOCK_WAIT.record(started);
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void read(Runnable action) {
+        read(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean addExhibition(Exhibition exhibition) {
+        return write(() -> super.addExhibition(exhibition));
+    }
+
+    @Override
+    public List<Exhibition> addAll(List<Exhibition> batch) {
+        return write(() -> super.addAll(batch));
+    }
+
+    @Override
+    public boolean editExhibition(String name, Exhibition newExhibition) {
+        return write(() -> super.editExhibition(name, newExhibition));
+    }
+
+    @Override
+    public boolean deleteExhibition(String name) {
+        return write(() -> super.deleteExhibition(name));
+    }
+
+    @Override
+    public void sortExhibitionsByParameter(String parameter) {
+        read(() -> super.sortExhibitionsByParameter(parameter));
+    }
+
+    @Override
+    public List<Exhibition> getSortedPage(String parameter, Exhibition after, int limit) {
+        return read(() -> super.getSortedPage(parameter, after, limit));
+    }
+
+    @Override
+    public void loadFromFile() {
+        write(super::loadFromFile);
+    }
+
+    @Override
+    public int size() {
+        return read(super::size);
+    }
+
+    @Override
+    public Exhibition searchExhibitionByName(String name) {
+        return read(() -> super.searchExhibitionByName(name));
+    }
+
+    @Override
+    public List<Exhibition> suggestNames(String prefix, int limit) {
+        return read(() -> super.suggestNames(prefix, limit));
+    }
+
+    @Override
+    public List<Exhibition> searchSimilarNames(String query, int limit) {
+        return read(() -> super.searchSimilarNames(query, limit));
+    }
+
+    @Override
+    public List<Exhibition> findByComments(String query) {
+        return read(() -> super.findByComments(query));
+    }
+
+    @Override
+    public void displayExhibitions() {
+        read(() -> super.displayExhibitions());
+    }
+
+    @Override
+    public int displayExhibitions(int offset, int limit) {
+        return read(() -> super.displayExhibitions(offset, limit));
+    }
+
+    @Override
+    public long getTotalVisitors() {
+        return read(super::getTotalVisitors);
+    }
+
+    @Override
+    public long sumVisitors(String day, String artistLastName) {
+        return read(() -> super.sumVisitors(day, artistLastName));
+    }
+
+    @Override
+    public List<Exhibition> findByArtist(String artistLastName) {
+        return read(() -> super.findByArtist(artistLastName));
+    }
+
+    @Override
+    public List<Exhibition> select(ExhibitionQuery query) {
+        return read(() -> super.select(query));
+    }
+
+    @Override
+    public Map<String, Long> groupVisitors(ExhibitionQuery query, String groupBy) {
+        return read(() -> super.groupVisitors(query, groupBy));
+    }
+
+    @Override
+    public List<Exhibition> topByVisitors(ExhibitionQuery query, int limit) {
+        return read(() -> super.topByVisitors(query, limit));
+    }
+
+    @Override
+    public Map<String, Long> getVisitorsByDay() {
+        return read(super::getVisitorsByDay);
+    }
+
+    @Override
+    public long[] getVisitorsByWeekday() {
+        return read(super::getVisitorsByWeekday);
+    }
+
+    @Override
+    public long visitorsBetween(LocalDate from, LocalDate to) {
+        return read(() -> super.visitorsBetween(from, to));
+    }
+
+    @Override
+    public Map<LocalDate, Long> getVisitorsByWeek(LocalDate from, LocalDate to) {
+        return read(() -> super.getVisitorsByWeek(from, to));
+    }
+
+    @Override
+    public void totalVisitors() {
+        read(super::totalVisitors);
+    }
+
+    @Override
+    public void dayWithLeastVisitors() {
+        read(super::dayWithLeastVisitors);
+    }
+
+    @Override
+    public void searchCommentsByWord(String word) {
+        read(() -> super.searchCommentsByWord(word));
+    }
+}
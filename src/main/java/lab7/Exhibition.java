@@ -0,0 +1,79 @@
+package lab7;
+
+public class Exhibition {
+    private String name;
+    private String artistLastName;
+    private String day;
+    private int visitorsCount;
+    private String comments;
+    private ExhibitionDay parsedDay;
+
+    public Exhibition() {}
+
+    public Exhibition(String name, String artistLastName, String day, int visitorsCount, String comments) {
+        this.name = name;
+        this.artistLastName = artistLastName;
+        this.day = day;
+        this.visitorsCount = visitorsCount;
+        this.comments = comments;
+        this.parsedDay = ExhibitionDay.of(day);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getArtistLastName() {
+        return artistLastName;
+    }
+
+    public void setArtistLastName(String artistLastName) {
+        this.artistLastName = artistLastName;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+        this.parsedDay = ExhibitionDay.of(day);
+    }
+
+    public ExhibitionDay getParsedDay() {
+        if (parsedDay == null) {
+            parsedDay = ExhibitionDay.of(day);
+        }
+        return parsedDay;
+    }
+
+    public int getVisitorsCount() {
+        return visitorsCount;
+    }
+
+    public void setVisitorsCount(int visitorsCount) {
+        this.visitorsCount = visitorsCount;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %-15s %-10s %-10d %-20s", name, artistLastName, day, visitorsCount, comments);
+    }
+
+    public static String getTableHeader() {
+        return String.format("%-20s %-15s %-10s %-10s %-20s",
+                "Назва", "Прізвище художника", "День", "Кількість відвідувачів", "Коментарі");
+    }
+}
@@ -0,0 +1,218 @@
+package lab7;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Бенчмарк гарячих шляхів ExhibitionDatabase на синтетичних даних (--bench[=розміри]).
+class ExhibitionBenchmark {
+    private static final String[] DAYS = {"Понеділок", "Вівторок", "Середа", "Четвер", "П'ятниця", "Субота", "Неділя"};
+
+    public static List<Exhibition> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Exhibition> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder comments = new StringBuilder();
+            int words = 3 + random.nextInt(6);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    comments.append(' ');
+                }
+                comments.append("слово").append(random.nextInt(2000));
+            }
+            rows.add(new Exhibition("Виставка-" + i, "Художник" + random.nextInt(1000), DAYS[random.nextInt(DAYS.length)],
+                    random.nextInt(10_000), comments.toString()));
+        }
+        return rows;
+    }
+
+    public static void run(int[] sizes) throws IOException {
+        System.out.println("Процесорів для паралельних запитів: " + ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("%-28s %10s %12s %14s%n", "Операція", "Записів", "Повторів", "мкс/операцію");
+        for (int size : sizes) {
+            Path file = Files.createTempFile("exhibitions-bench", ".txt");
+            try {
+                ExhibitionCsv.write(file, generate(size, 42));
+                runSize(file, size);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public static void compareStorage(int size, int operations) throws IOException {
+        Path directory = Files.createTempDirectory("exhibitions-engines");
+        MemoryStorageEngine memory = new MemoryStorageEngine();
+        Map<String, Supplier<ExhibitionDatabase>> backends = new LinkedHashMap<>();
+        backends.put(memory.getName(), () -> new ExhibitionDatabase(memory));
+        backends.put("текстовий файл", () -> new ExhibitionDatabase(directory.resolve("exhibitions.txt").toString()));
+        backends.put("двійковий файл", () -> new ExhibitionDatabase(directory.resolve("exhibitions.bin").toString()));
+        backends.put("сховище .mmap", () -> new MappedExhibitionDatabase(directory.resolve("exhibitions.mmap").toString()));
+
+        List<Exhibition> rows = generate(size, 42);
+        System.out.printf("Записів: %d, операцій: %d%n", size, operations);
+        System.out.printf("%-16s %12s %10s %10s %10s %14s %16s %12s%n", "Сховище", "операцій/с", "p50 мкс", "p99 мкс",
+                "max мкс", "заповнення мс", "завантаження мс", "на диску КБ");
+        PrintStream console = System.out;
+        try {
+            MemoryStorageEngine warmup = new MemoryStorageEngine();
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                runMix(() -> new ExhibitionDatabase(warmup), generate(1_000, 1), 1_000, 5_000, new LatencyHistogram());
+            } finally {
+                System.setOut(console);
+            }
+            for (Map.Entry<String, Supplier<ExhibitionDatabase>> backend : backends.entrySet()) {
+                LatencyHistogram latency = new LatencyHistogram();
+                long[] timings;
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                try {
+                    timings = runMix(backend.getValue(), rows, size, operations, latency);
+                } finally {
+                    System.setOut(console);
+                }
+                long bytes = 0;
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        bytes += Files.size(file);
+                        Files.delete(file);
+                    }
+                }
+                System.out.printf("%-16s %12.0f %10.1f %10.1f %10.1f %14.1f %16.1f %12d%n", backend.getKey(),
+                        operations / (timings[2] / 1e9), latency.percentile(0.5) / 1e3, latency.percentile(0.99) / 1e3,
+                        latency.max() / 1e3, timings[0] / 1e6, timings[1] / 1e6, bytes / 1024);
+            }
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static long[] runMix(Supplier<ExhibitionDatabase> open, List<Exhibition> rows, int size, int operations,
+                                 LatencyHistogram latency) {
+        ExhibitionDatabase database = open.get();
+        database.loadFromFile();
+        long started = System.nanoTime();
+        database.addAll(rows);
+        long fill = System.nanoTime() - started;
+        database.close();
+
+        database = open.get();
+        started = System.nanoTime();
+        database.loadFromFile();
+        long load = System.nanoTime() - started;
+
+        Random random = new Random(7);
+        int added = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            String name = "Виставка-" + random.nextInt(size);
+            int kind = random.nextInt(100);
+            long operationStarted = System.nanoTime();
+            if (kind < 60) {
+                database.searchExhibitionByName(name);
+            } else if (kind < 75) {
+                database.findByComments("слово" + random.nextInt(2000));
+            } else if (kind < 85) {
+                database.editExhibition(name, new Exhibition(name, "Художник" + random.nextInt(1000),
+                        DAYS[random.nextInt(DAYS.length)], random.nextInt(10_000), "змінений коментар"));
+            } else if (kind < 93) {
+                database.addExhibition(new Exhibition("Нова-" + added++, "Художник", DAYS[i % DAYS.length], i, "новий коментар"));
+            } else {
+                database.deleteExhibition(name);
+            }
+            latency.recordValue(System.nanoTime() - operationStarted);
+        }
+        long elapsed = System.nanoTime() - started;
+        database.close();
+        return new long[] {fill, load, elapsed};
+    }
+
+    private static void runSize(Path file, int size) {
+        int heavy = size >= 1_000_000 ? 2 : size >= 100_000 ? 5 : 50;
+        ExhibitionDatabase[] loaded = new ExhibitionDatabase[1];
+        measure("loadFromFile", size, heavy, i -> {
+            loaded[0] = new ExhibitionDatabase(file.toString());
+            loaded[0].loadFromFile();
+        });
+        ExhibitionDatabase database = loaded[0];
+        measure("saveToFile", size, heavy, i -> database.saveToFile());
+
+        Random random = new Random(7);
+        int lookups = 100_000;
+        String[] names = new String[lookups];
+        String[] words = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            names[i] = "виставка-" + random.nextInt(size);
+            words[i] = "слово" + random.nextInt(2000);
+        }
+        measure("searchExhibitionByName", size, lookups, i -> database.searchExhibitionByName(names[i]));
+        measure("suggestNames (префікс)", size, 10_000, i -> database.suggestNames(names[i].substring(0, names[i].length() - 1), Main.PAGE_SIZE));
+        measure("searchSimilarNames (1 помилка)", size, 10_000, i -> database.searchSimilarNames(typo(names[i]), Main.PAGE_SIZE));
+        QueryResultCache cache = database.getResultCache();
+        measure("searchCommentsByWord", size, 1_000, i -> {
+            cache.clear();
+            database.findByComments(words[i]);
+        });
+        measure("searchCommentsByWord (a*)", size, 100, i -> {
+            cache.clear();
+            database.findByComments(words[i].substring(0, 6) + "*");
+        });
+        measure("searchCommentsByWord (кеш)", size, 1_000, i -> database.findByComments(words[i % 16]));
+        String[] parameters = {"назва", "прізвище художника", "день", "кількість відвідувачів"};
+        measure("sortExhibitions (20 рядків)", size, 10_000, i -> database.getSortedPage(parameters[i % parameters.length], null, Main.PAGE_SIZE));
+        measure("totalVisitors", size, lookups, i -> database.getTotalVisitors());
+        String[] days = DAYS;
+        measure("sumVisitors (агрегати, день)", size, 100, i -> database.sumVisitors(days[i % days.length], null));
+        measure("sumVisitors (об'єкти, день)", size, 100, i -> database.getExhibitions().stream()
+                .filter(e -> e.getDay().equals(days[i % days.length])).mapToLong(Exhibition::getVisitorsCount).sum());
+        measure("groupVisitors (послідовно)", size, 100, i -> database.groupVisitors(
+                new ExhibitionQuery().visitorsBetween(i, 10_000).sequential(), "художник"));
+        measure("groupVisitors (паралельно)", size, 100, i -> database.groupVisitors(
+                new ExhibitionQuery().visitorsBetween(i, 10_000), "художник"));
+        measure("topByVisitors 10 (послідовно)", size, 100, i -> database.topByVisitors(
+                new ExhibitionQuery().day(days[i % days.length]).sequential(), 10));
+        measure("topByVisitors 10 (паралельно)", size, 100, i -> database.topByVisitors(
+                new ExhibitionQuery().day(days[i % days.length]), 10));
+        int[] sequence = {0};
+        measure("addExhibition", size, heavy, i -> database.addExhibition(
+                new Exhibition("Нова-" + sequence[0]++, "Художник", DAYS[i % DAYS.length], i, "новий коментар")));
+    }
+
+    private static String typo(String name) {
+        char[] chars = name.toCharArray();
+        int i = chars.length / 2;
+        char swap = chars[i];
+        chars[i] = chars[i - 1];
+        chars[i - 1] = swap;
+        return new String(chars);
+    }
+
+    private static void measure(String operation, int size, int iterations, IntConsumer action) {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long elapsed;
+        try {
+            int warmup = Math.min(iterations, 1_000);
+            for (int i = 0; i < warmup; i++) {
+                action.accept(i);
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                action.accept(i);
+            }
+            elapsed = System.nanoTime() - started;
+        } finally {
+            System.setOut(console);
+        }
+        System.out.printf("%-28s %10d %12d %14.3f%n", operation, size, iterations, elapsed / 1e3 / iterations);
+    }
+}
@@ -0,0 +1,120 @@
+package lab7;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Двійковий формат (*.bin): заголовок, записи і CRC32 у кінці.
+class ExhibitionBinary {
+    static final int MAGIC = 0x45584842;
+    static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 4;
+    private static final int TRAILER_SIZE = 8;
+
+    public static boolean isBinary(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".bin");
+    }
+
+    public static void write(Path path, Collection<Exhibition> exhibitions) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path.toFile()), 1 << 16), crc))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(exhibitions.size());
+            for (Exhibition exhibition : exhibitions) {
+                writeString(out, exhibition.getName());
+                writeString(out, exhibition.getArtistLastName());
+                writeString(out, exhibition.getDay());
+                out.writeInt(exhibition.getVisitorsCount());
+                writeString(out, exhibition.getComments());
+            }
+            out.flush();
+            long checksum = crc.getValue();
+            out.writeLong(checksum);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static int read(Path path, ExhibitionCsv.RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+            if (size < HEADER_SIZE + TRAILER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Невірний розмір двійкового файлу: " + size);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Файл " + path + " не є двійковим файлом виставок");
+            }
+            short version = buffer.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Непідтримувана версія формату: " + version);
+            }
+            int body = (int) size - TRAILER_SIZE;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(body));
+            if (crc.getValue() != buffer.getLong(body)) {
+                throw new IOException("Контрольна сума файлу " + path + " не збігається");
+            }
+
+            int count = buffer.getInt(6);
+            if (count < 0) {
+                throw new IOException("Пошкоджений двійковий файл " + path + ": кількість записів " + count);
+            }
+            buffer.position(HEADER_SIZE).limit(body);
+            ExhibitionBinary reader = new ExhibitionBinary(buffer);
+            try {
+                for (int i = 0; i < count; i++) {
+                    String name = reader.readString(false);
+                    String artistLastName = reader.readString(true);
+                    String day = reader.readString(true);
+                    int visitorsCount = buffer.getInt();
+                    String comments = reader.readString(false);
+                    handler.row(name, artistLastName, day, visitorsCount, comments);
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Пошкоджений двійковий файл " + path, e);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Пошкоджений двійковий файл " + path + ": зайві байти після записів");
+            }
+            return count;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final ExhibitionCsv.BytePool pool = new ExhibitionCsv.BytePool();
+    private byte[] scratch = new byte[256];
+
+    private ExhibitionBinary(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    private String readString(boolean intern) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException();
+        }
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(scratch, 0, length);
+        return pool.string(scratch, length, intern);
+    }
+}
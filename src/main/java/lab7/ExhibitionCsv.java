@@ -0,0 +1,302 @@
+package lab7;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Формат exhibitions.txt: п'ять полів через кому.
+public class ExhibitionCsv {
+    public interface RowHandler {
+        void row(String name, String artistLastName, String day, int visitorsCount, String comments);
+    }
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final RowHandler handler;
+    private final boolean finalWindow;
+    private final BytePool pool = new BytePool();
+    private byte[] scratch = new byte[256];
+    private int scratchLength;
+    private int position;
+
+    private ExhibitionCsv(ByteBuffer buffer, int limit, boolean finalWindow, RowHandler handler) {
+        this.buffer = buffer;
+        this.limit = limit;
+        this.handler = handler;
+        this.finalWindow = finalWindow;
+    }
+
+    public static int read(Path path, RowHandler handler) throws IOException {
+        return read(path, handler, WINDOW_SIZE);
+    }
+
+    // Вікно закінчується на останньому повному записі; незавершений запис (зокрема з переносом у лапках) читається з наступного вікна.
+    static int read(Path path, RowHandler handler, long windowSize) throws IOException {
+        int rows = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                long length = Math.min(windowSize, size - offset);
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                ExhibitionCsv csv = new ExhibitionCsv(window, (int) length, offset + length == size, handler);
+                rows += csv.parse();
+                if (csv.position == 0) {
+                    throw new IOException("Запис довший за " + windowSize + " байт");
+                }
+                offset += csv.position;
+            }
+        }
+        return rows;
+    }
+
+    private int parse() {
+        int rows = 0;
+        while (position < limit) {
+            int lineStart = position;
+            if (skipLineBreak()) {
+                continue;
+            }
+            try {
+                parseRow();
+                rows++;
+            } catch (IllegalArgumentException e) {
+                skipToLineEnd();
+                if (position >= limit && !finalWindow) {
+                    position = lineStart;
+                    break;
+                }
+                System.err.println("Невірний формат рядка: " + decode(lineStart, position).trim());
+            }
+        }
+        return rows;
+    }
+
+    private void parseRow() {
+        readField(false);
+        String name = pool.string(scratch, scratchLength, false);
+        readField(false);
+        String artistLastName = pool.string(scratch, scratchLength, true);
+        readField(false);
+        String day = pool.string(scratch, scratchLength, true);
+        readField(false);
+        int visitorsCount = parseInt(scratch, scratchLength);
+        readField(true);
+        String comments = pool.string(scratch, scratchLength, false);
+        if (position < limit ? !skipLineBreak() : !finalWindow) {
+            throw new IllegalArgumentException();
+        }
+        handler.row(name, artistLastName, day, visitorsCount, comments);
+    }
+
+    public static Exhibition parseLine(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        Exhibition[] result = new Exhibition[1];
+        ExhibitionCsv csv = new ExhibitionCsv(ByteBuffer.wrap(bytes), bytes.length, true, (name, artistLastName, day, visitorsCount, comments) ->
+                result[0] = new Exhibition(name, artistLastName, day, visitorsCount, comments));
+        csv.parseRow();
+        if (csv.position < bytes.length) {
+            throw new IllegalArgumentException("Зайві дані після п'ятого поля");
+        }
+        return result[0];
+    }
+
+    private void readField(boolean last) {
+        scratchLength = 0;
+        if (position < limit && buffer.get(position) == '"') {
+            position++;
+            while (true) {
+                if (position >= limit) {
+                    throw new IllegalArgumentException();
+                }
+                byte b = buffer.get(position++);
+                if (b == '"') {
+                    if (position < limit && buffer.get(position) == '"') {
+                        position++;
+                    } else {
+                        break;
+                    }
+                }
+                append(b);
+            }
+            if (position < limit && buffer.get(position) == ',' && !last) {
+                position++;
+            } else if (!last) {
+                throw new IllegalArgumentException();
+            }
+            return;
+        }
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            position++;
+            if (b == ',' && !last) {
+                return;
+            }
+            append(b);
+        }
+        if (!last) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private boolean skipLineBreak() {
+        boolean skipped = false;
+        while (position < limit && (buffer.get(position) == '\n' || buffer.get(position) == '\r')) {
+            position++;
+            skipped = true;
+        }
+        return skipped;
+    }
+
+    private void skipToLineEnd() {
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+    }
+
+    private void append(byte b) {
+        if (scratchLength == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratch.length * 2);
+        }
+        scratch[scratchLength++] = b;
+    }
+
+    private String decode(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int parseInt(byte[] bytes, int length) {
+        int start = 0;
+        int end = length;
+        while (start < end && bytes[start] == ' ') {
+            start++;
+        }
+        while (end > start && bytes[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = start < end && bytes[start] == '-';
+        if (negative || (start < end && bytes[start] == '+')) {
+            start++;
+        }
+        if (start == end || end - start > 10) {
+            throw new IllegalArgumentException();
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException();
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+        return (int) value;
+    }
+
+    public static void write(Path path, Iterable<Exhibition> exhibitions) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path.toFile()), StandardCharsets.UTF_8), 1 << 16)) {
+            StringBuilder line = new StringBuilder(256);
+            for (Exhibition exhibition : exhibitions) {
+                line.setLength(0);
+                appendRow(line, exhibition);
+                line.append(System.lineSeparator());
+                writer.append(line);
+            }
+        }
+    }
+
+    public static void appendRow(StringBuilder line, Exhibition exhibition) {
+        appendField(line, exhibition.getName()).append(',');
+        appendField(line, exhibition.getArtistLastName()).append(',');
+        appendField(line, exhibition.getDay()).append(',');
+        line.append(exhibition.getVisitorsCount()).append(',');
+        appendField(line, exhibition.getComments());
+    }
+
+    private static StringBuilder appendField(StringBuilder line, String value) {
+        boolean quote = value.startsWith("\"");
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    // Пул рядків, що шукає вже створений String за байтами поля, не декодуючи його повторно.
+    static class BytePool {
+        private final Map<ByteKey, String> values = new HashMap<>();
+        private final ByteKey probe = new ByteKey();
+
+        String string(byte[] bytes, int length, boolean intern) {
+            if (!intern) {
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            probe.set(bytes, length);
+            String value = values.get(probe);
+            if (value == null) {
+                value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+                ByteKey key = new ByteKey();
+                key.set(Arrays.copyOf(bytes, length), length);
+                values.put(key, value);
+            }
+            return value;
+        }
+    }
+
+    private static class ByteKey {
+        private byte[] bytes;
+        private int length;
+        private int hash;
+
+        void set(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+            int h = 1;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + bytes[i];
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ByteKey)) {
+                return false;
+            }
+            ByteKey key = (ByteKey) other;
+            return key.hash == hash && Arrays.equals(bytes, 0, length, key.bytes, 0, key.length);
+        }
+    }
+}
@@ -0,0 +1,735 @@
+package lab7;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+class ExhibitionDatabase {
+    private static final List<String> SORT_PARAMETERS = Arrays.asList("назва", "прізвище художника", "день", "кількість відвідувачів");
+
+    private final StorageEngine storage;
+
+    private final LinkedHashMap<Long, Exhibition> exhibitions = new LinkedHashMap<>();
+    private final Map<Exhibition, Long> rowIds = new IdentityHashMap<>();
+    private long nextRowId;
+    private Map<String, Exhibition> nameIndex;
+    private CommentIndex commentIndex;
+    private final NameSearchIndex nameSearch = new NameSearchIndex();
+    private final QueryResultCache resultCache = new QueryResultCache(QueryResultCache.DEFAULT_ENTRIES, QueryResultCache.DEFAULT_ROWS);
+    private VisitorAggregates aggregates;
+    private Map<String, NavigableSet<Exhibition>> sortedIndexes;
+    private final ColumnarExhibitionStore columns = new ColumnarExhibitionStore();
+    private ExhibitionJournal journal;
+    private SnapshotFlusher flusher;
+    private ChangeFeed changeFeed;
+    private final SnapshotLog snapshots = new SnapshotLog();
+
+    public ExhibitionDatabase() {
+        this("exhibitions.txt");
+    }
+
+    public ExhibitionDatabase(String fileName) {
+        this(new FileStorageEngine(Paths.get(fileName)));
+    }
+
+    public ExhibitionDatabase(StorageEngine storage) {
+        this.storage = storage;
+        nameIndex = new HashMap<>();
+        commentIndex = new CommentIndex();
+        aggregates = new VisitorAggregates();
+        sortedIndexes = new LinkedHashMap<>();
+        for (String parameter : SORT_PARAMETERS) {
+            sortedIndexes.put(parameter, new TreeSet<>(sortComparator(parameter)));
+        }
+    }
+
+    public StorageEngine getStorage() {
+        return storage;
+    }
+
+    public void enableJournal() {
+        if (storage.getFile() == null) {
+            System.out.println("Сховище \"" + storage.getName() + "\" не має файлу, журнал не використовується.");
+            return;
+        }
+        try {
+            journal = new ExhibitionJournal(journalFile(storage.getFile()), this);
+        } catch (IOException e) {
+            System.err.println("Не вдалося відкрити журнал, використовується повний запис файлу: " + e.getMessage());
+        }
+    }
+
+    static Path journalFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".log");
+    }
+
+    public void enableChangeFeed() {
+        if (storage.getFile() == null) {
+            System.out.println("Сховище \"" + storage.getName() + "\" не має файлу, потік змін не використовується.");
+            return;
+        }
+        try {
+            changeFeed = new ChangeFeed(storage.getFile());
+        } catch (IOException e) {
+            System.err.println("Не вдалося відкрити файл змін: " + e.getMessage());
+        }
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    void publishChange(String operation, String key, Exhibition exhibition) {
+        if (changeFeed != null) {
+            changeFeed.publish(operation, key, exhibition);
+        }
+    }
+
+    public void enableGroupCommit(long intervalMillis, int maxPending) {
+        if (journal != null) {
+            System.out.println("Журнал уже групує записи, групове збереження знімків не вмикається.");
+            return;
+        }
+        flusher = new SnapshotFlusher(this, intervalMillis, maxPending);
+    }
+
+    public synchronized boolean addExhibition(Exhibition exhibition) {
+        long started = ExhibitionMetrics.start();
+        try {
+            if (nameIndex.containsKey(nameKey(exhibition.getName()))) {
+                System.out.println("Виставка з такою назвою вже існує.");
+                return false;
+            }
+            if (!journalAppend("A", "", exhibition)) {
+                return false;
+            }
+            rowAdd(exhibition);
+            indexAdd(exhibition);
+            if (journal == null) {
+                persist();
+            }
+            publishChange("add", exhibition.getName(), exhibition);
+            return true;
+        } finally {
+            ExhibitionMetrics.ADD.record(started);
+        }
+    }
+
+    public synchronized List<Exhibition> addAll(List<Exhibition> batch) {
+        long started = ExhibitionMetrics.start();
+        try {
+            List<Exhibition> rejected = new ArrayList<>();
+            for (Exhibition exhibition : batch) {
+                if (nameIndex.containsKey(nameKey(exhibition.getName()))) {
+                    rejected.add(exhibition);
+                    continue;
+                }
+                if (!journalAppend("A", "", exhibition)) {
+                    rejected.add(exhibition);
+                    continue;
+                }
+                rowAdd(exhibition);
+                indexAdd(exhibition);
+                publishChange("add", exhibition.getName(), exhibition);
+            }
+            if (journal != null) {
+                try {
+                    journal.sync();
+                } catch (IOException e) {
+                    System.err.println("Помилка запису в журнал: " + e.getMessage());
+                }
+            } else if (rejected.size() < batch.size()) {
+                persist();
+            }
+            return rejected;
+        } finally {
+            ExhibitionMetrics.ADD_ALL.record(started);
+        }
+    }
+
+    public List<Exhibition> getExhibitions() {
+        return snapshot().getRows();
+    }
+
+    public synchronized CatalogSnapshot snapshot() {
+        return snapshots.snapshot(this::snapshotRows);
+    }
+
+    public synchronized CatalogSnapshot pinSnapshot() {
+        return snapshots.pin(this::snapshotRows);
+    }
+
+    public synchronized void releaseSnapshot(CatalogSnapshot snapshot) {
+        snapshots.release(snapshot);
+    }
+
+    public synchronized long getVersion() {
+        return snapshots.getVersion();
+    }
+
+    public synchronized CatalogDiff diff(long from, long to) {
+        return snapshots.diff(from, to);
+    }
+
+    List<Exhibition> snapshotRows() {
+        return new ArrayList<>(exhibitions.values());
+    }
+
+    void recordChange(String name, Exhibition after) {
+        snapshots.record(name, after);
+    }
+
+    public int size() {
+        return exhibitions.size();
+    }
+
+    public synchronized boolean editExhibition(String name, Exhibition newExhibition) {
+        long started = ExhibitionMetrics.start();
+        try {
+            Exhibition existing = nameIndex.get(nameKey(name));
+            if (existing == null) {
+                System.out.println("Виставка з такою назвою не знайдена.");
+                return false;
+            }
+            Exhibition clash = nameIndex.get(nameKey(newExhibition.getName()));
+            if (clash != null && clash != existing) {
+                System.out.println("Виставка з такою назвою вже існує.");
+                return false;
+            }
+            if (!journalAppend("E", name, newExhibition)) {
+                return false;
+            }
+            rowReplace(existing, newExhibition);
+            indexRemove(existing);
+            indexAdd(newExhibition);
+            if (journal == null) {
+                persist();
+            }
+            publishChange("edit", name, newExhibition);
+            return true;
+        } finally {
+            ExhibitionMetrics.EDIT.record(started);
+        }
+    }
+
+    public synchronized boolean deleteExhibition(String name) {
+        long started = ExhibitionMetrics.start();
+        try {
+            Exhibition existing = nameIndex.get(nameKey(name));
+            if (existing == null) {
+                System.out.println("Виставка з такою назвою не знайдена.");
+                return false;
+            }
+            if (!journalAppend("D", name, null)) {
+                return false;
+            }
+            rowRemove(existing);
+            indexRemove(existing);
+            if (journal == null) {
+                persist();
+            }
+            publishChange("delete", name, null);
+            return true;
+        } finally {
+            ExhibitionMetrics.DELETE.record(started);
+        }
+    }
+
+    // Запис у журнал іде перед зміною в пам'яті: якщо він не вдався, зміну не застосовано.
+    private boolean journalAppend(String operation, String key, Exhibition exhibition) {
+        if (journal == null) {
+            return true;
+        }
+        try {
+            journal.append(operation, key, exhibition);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Помилка запису в журнал, зміну не застосовано: " + e.getMessage());
+            return false;
+        }
+    }
+
+    void applyUpsert(String name, Exhibition exhibition) {
+        Exhibition existing = nameIndex.get(nameKey(name));
+        Exhibition clash = nameIndex.get(nameKey(exhibition.getName()));
+        if (existing == null) {
+            existing = clash;
+        } else if (clash != null && clash != existing) {
+            rowRemove(clash);
+            indexRemove(clash);
+        }
+        if (existing != null) {
+            rowReplace(existing, exhibition);
+            indexRemove(existing);
+        } else {
+            rowAdd(exhibition);
+        }
+        indexAdd(exhibition);
+    }
+
+    void applyDelete(String name) {
+        Exhibition existing = nameIndex.get(nameKey(name));
+        if (existing != null) {
+            rowRemove(existing);
+            indexRemove(existing);
+        }
+    }
+
+    private void rowAdd(Exhibition exhibition) {
+        long id = nextRowId++;
+        exhibitions.put(id, exhibition);
+        rowIds.put(exhibition, id);
+    }
+
+    private void rowReplace(Exhibition existing, Exhibition exhibition) {
+        Long id = rowIds.remove(existing);
+        exhibitions.put(id, exhibition);
+        rowIds.put(exhibition, id);
+    }
+
+    private void rowRemove(Exhibition existing) {
+        exhibitions.remove(rowIds.remove(existing));
+    }
+
+    // Усі допоміжні індекси оновлюються лише через ці два методи.
+    private void indexAdd(Exhibition exhibition) {
+        recordChange(exhibition.getName(), exhibition);
+        nameIndex.put(nameKey(exhibition.getName()), exhibition);
+        nameSearch.add(exhibition.getName());
+        commentIndex.add(exhibition);
+        resultCache.invalidate(exhibition.getComments());
+        aggregates.add(exhibition);
+        columns.add(exhibition);
+        for (NavigableSet<Exhibition> index : sortedIndexes.values()) {
+            index.add(exhibition);
+        }
+    }
+
+    private void indexRemove(Exhibition exhibition) {
+        recordChange(exhibition.getName(), null);
+        nameIndex.remove(nameKey(exhibition.getName()));
+        nameSearch.remove(exhibition.getName());
+        commentIndex.remove(exhibition);
+        resultCache.invalidate(exhibition.getComments());
+        aggregates.remove(exhibition);
+        columns.remove(exhibition);
+        for (NavigableSet<Exhibition> index : sortedIndexes.values()) {
+            index.remove(exhibition);
+        }
+    }
+
+    static String nameKey(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    synchronized void compactJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        journal.sync();
+        persistSnapshot(exhibitions.values());
+        journal.reset();
+    }
+
+    // Не тримає замок бази, поки чекає на фоновий запис: той сам бере замок, щоб зняти копію списку.
+    public void close() {
+        if (flusher != null) {
+            flusher.close();
+        }
+        if (changeFeed != null) {
+            try {
+                changeFeed.close();
+            } catch (IOException e) {
+                System.err.println("Помилка закриття файлу змін: " + e.getMessage());
+            }
+        }
+        synchronized (this) {
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Помилка закриття журналу: " + e.getMessage());
+            }
+        }
+    }
+
+    public void displayExhibitions() {
+        new ExhibitionTableRenderer(System.out).header().rows(exhibitions.values()).flush();
+    }
+
+    public int displayExhibitions(int offset, int limit) {
+        List<Exhibition> rows = getExhibitions();
+        int from = Math.max(0, Math.min(offset, rows.size()));
+        int to = (int) Math.min((long) from + Math.max(limit, 0), rows.size());
+        new ExhibitionTableRenderer(System.out).header().rows(rows.subList(from, to)).flush();
+        return to - from;
+    }
+
+    public Exhibition searchExhibitionByName(String name) {
+        long started = ExhibitionMetrics.start();
+        try {
+            return nameIndex.get(nameKey(name));
+        } finally {
+            ExhibitionMetrics.FIND.record(started);
+        }
+    }
+
+    public List<Exhibition> suggestNames(String prefix, int limit) {
+        long started = ExhibitionMetrics.start();
+        try {
+            return resolveNames(getNameSearch().withPrefix(prefix, limit));
+        } finally {
+            ExhibitionMetrics.NAME_SEARCH.record(started);
+        }
+    }
+
+    public List<Exhibition> searchSimilarNames(String query, int limit) {
+        long started = ExhibitionMetrics.start();
+        try {
+            return resolveNames(getNameSearch().similar(query, NameSearchIndex.defaultDistance(query), NameSearchIndex.EXACT_PREFIX, limit));
+        } finally {
+            ExhibitionMetrics.NAME_SEARCH.record(started);
+        }
+    }
+
+    NameSearchIndex getNameSearch() {
+        return nameSearch;
+    }
+
+    Exhibition lookupName(String name) {
+        return nameIndex.get(nameKey(name));
+    }
+
+    private List<Exhibition> resolveNames(List<String> names) {
+        List<Exhibition> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(lookupName(name));
+        }
+        return result;
+    }
+
+    public static boolean isSortParameter(String parameter) {
+        return SORT_PARAMETERS.contains(parameter.toLowerCase());
+    }
+
+    static Comparator<Exhibition> sortComparator(String parameter) {
+        switch (parameter.toLowerCase()) {
+            case "назва":
+                return Comparator.comparing(Exhibition::getName);
+            case "прізвище художника":
+                return Comparator.comparing(Exhibition::getArtistLastName).thenComparing(Exhibition::getName);
+            case "день":
+                return Comparator.comparing(Exhibition::getParsedDay).thenComparing(Exhibition::getName);
+            case "кількість відвідувачів":
+                return Comparator.comparingInt(Exhibition::getVisitorsCount).thenComparing(Exhibition::getName);
+            default:
+                return null;
+        }
+    }
+
+    public List<Exhibition> getSortedPage(String parameter, Exhibition after, int limit) {
+        long started = ExhibitionMetrics.start();
+        try {
+            NavigableSet<Exhibition> index = sortedIndexes.get(parameter.toLowerCase());
+            if (index == null) {
+                return Collections.emptyList();
+            }
+            List<Exhibition> page = new ArrayList<>(Math.min(limit, index.size()));
+            for (Exhibition exhibition : after == null ? index : index.tailSet(after, false)) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(exhibition);
+            }
+            return page;
+        } finally {
+            ExhibitionMetrics.SORT.record(started);
+        }
+    }
+
+    public void sortExhibitionsByParameter(String parameter) {
+        long started = ExhibitionMetrics.start();
+        try {
+            NavigableSet<Exhibition> index = sortedIndexes.get(parameter.toLowerCase());
+            if (index == null) {
+                System.out.println("Невідомий параметр для сортування.");
+                return;
+            }
+            new ExhibitionTableRenderer(System.out).header().rows(index).flush();
+        } finally {
+            ExhibitionMetrics.SORT.record(started);
+        }
+    }
+
+    public long getTotalVisitors() {
+        return aggregates.getTotal();
+    }
+
+    public long sumVisitors(String day, String artistLastName) {
+        if (artistLastName == null) {
+            return day == null ? aggregates.getTotal() : aggregates.getDayTotal(day);
+        }
+        int dayCode = day == null ? -1 : columns.dayCodeOf(day);
+        int artistCode = columns.artistCodeOf(artistLastName);
+        if ((day != null && dayCode < 0) || artistCode < 0) {
+            return 0;
+        }
+        return columns.sumVisitors(dayCode, artistCode);
+    }
+
+    public List<Exhibition> select(ExhibitionQuery query) {
+        long started = ExhibitionMetrics.start();
+        try {
+            return columns.rows(query.isParallel())
+                    .filter(query.compile(columns))
+                    .mapToObj(columns::materialize)
+                    .collect(Collectors.toList());
+        } finally {
+            ExhibitionMetrics.QUERY.record(started);
+        }
+    }
+
+    // Суми й кількості рядків на код групи, щоб групи з нульовою сумою теж потрапили в результат.
+    public Map<String, Long> groupVisitors(ExhibitionQuery query, String groupBy) {
+        long started = ExhibitionMetrics.start();
+        try {
+            boolean byDay = groupBy.equalsIgnoreCase("день");
+            int groups = byDay ? columns.dayCodeLimit() : columns.artistCodeLimit();
+            long[][] totals = columns.rows(query.isParallel())
+                    .filter(query.compile(columns))
+                    .collect(() -> new long[2][groups],
+                            (sums, row) -> {
+                                int code = byDay ? columns.dayCode(row) : columns.artistCode(row);
+                                sums[0][code] += columns.visitors(row);
+                                sums[1][code]++;
+                            },
+                            (left, right) -> {
+                                for (int code = 0; code < groups; code++) {
+                                    left[0][code] += right[0][code];
+                                    left[1][code] += right[1][code];
+                                }
+                            });
+            Map<String, Long> result = new TreeMap<>();
+            for (int code = 0; code < groups; code++) {
+                if (totals[1][code] != 0) {
+                    result.put(byDay ? columns.day(code) : columns.artist(code), totals[0][code]);
+                }
+            }
+            return result;
+        } finally {
+            ExhibitionMetrics.QUERY.record(started);
+        }
+    }
+
+    // Вершина купи — найгірший кандидат; рівні за відвідувачами розрізняються назвою, тож межа top-N не залежить від порядку обходу.
+    public List<Exhibition> topByVisitors(ExhibitionQuery query, int limit) {
+        long started = ExhibitionMetrics.start();
+        try {
+            if (limit <= 0) {
+                return Collections.emptyList();
+            }
+            Comparator<Integer> byVisitors = Comparator.comparingInt(columns::visitors)
+                    .thenComparing(columns::name, Comparator.reverseOrder());
+            PriorityQueue<Integer> top = columns.rows(query.isParallel())
+                    .filter(query.compile(columns))
+                    .collect(() -> new PriorityQueue<>(byVisitors),
+                            (queue, row) -> {
+                                queue.add(row);
+                                if (queue.size() > limit) {
+                                    queue.poll();
+                                }
+                            },
+                            (left, right) -> {
+                                for (Integer row : right) {
+                                    left.add(row);
+                                    if (left.size() > limit) {
+                                        left.poll();
+                                    }
+                                }
+                            });
+            List<Exhibition> result = new ArrayList<>(top.size());
+            for (Integer row : top) {
+                result.add(columns.materialize(row));
+            }
+            result.sort(Comparator.comparingInt(Exhibition::getVisitorsCount).reversed().thenComparing(Exhibition::getName));
+            return result;
+        } finally {
+            ExhibitionMetrics.QUERY.record(started);
+        }
+    }
+
+    public List<Exhibition> findByArtist(String artistLastName) {
+        List<Exhibition> result = new ArrayList<>();
+        int code = columns.artistCodeOf(artistLastName);
+        for (int row = 0; code >= 0 && row < columns.size(); row++) {
+            if (columns.artistCode(row) == code) {
+                result.add(columns.materialize(row));
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Long> getVisitorsByDay() {
+        return aggregates.getDayTotals();
+    }
+
+    public long[] getVisitorsByWeekday() {
+        return aggregates.getCalendar().getWeekdayVisitors();
+    }
+
+    public long visitorsBetween(LocalDate from, LocalDate to) {
+        return aggregates.getCalendar().visitorsBetween(from, to);
+    }
+
+    public Map<LocalDate, Long> getVisitorsByWeek(LocalDate from, LocalDate to) {
+        return aggregates.getCalendar().visitorsByWeek(from, to);
+    }
+
+    public void totalVisitors() {
+        System.out.println("Сумарна кількість відвідувачів: " + aggregates.getTotal());
+        for (Map.Entry<String, Long> day : aggregates.getDayTotals().entrySet()) {
+            System.out.println("  " + day.getKey() + ": " + day.getValue());
+        }
+    }
+
+    public void dayWithLeastVisitors() {
+        Map.Entry<String, Long> quietest = aggregates.getQuietestDay();
+        if (quietest == null) {
+            System.out.println("Список виставок порожній.");
+            return;
+        }
+        Exhibition min = sortedIndexes.get("кількість відвідувачів").first();
+        System.out.println("День з найменшою кількістю відвідувачів: " + quietest.getKey() + " (" + quietest.getValue() + ")");
+        System.out.println("Виставка з найменшою кількістю відвідувачів: " + min.getName() + " (" + min.getVisitorsCount() + ")");
+    }
+
+    public List<Exhibition> findByComments(String query) {
+        return cachedQuery(query);
+    }
+
+    public void searchCommentsByWord(String word) {
+        System.out.println("Список коментарів, що містять слово \"" + word + "\":");
+        for (Exhibition exhibition : cachedQuery(word)) {
+            System.out.println(exhibition.getComments());
+        }
+    }
+
+    private List<Exhibition> cachedQuery(String query) {
+        long started = ExhibitionMetrics.start();
+        try {
+            List<Exhibition> cached = resultCache.get(query);
+            return cached != null ? cached : resultCache.put(query, commentIndex.query(query));
+        } finally {
+            ExhibitionMetrics.SEARCH_COMMENTS.record(started);
+        }
+    }
+
+    public QueryResultCache getResultCache() {
+        return resultCache;
+    }
+
+    private void persist() {
+        if (flusher != null) {
+            flusher.markDirty();
+        } else {
+            saveToFile();
+        }
+    }
+
+    void saveToFile() {
+        try {
+            persistSnapshot(exhibitions.values());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    void persistSnapshot(Collection<Exhibition> rows) throws IOException {
+        long started = ExhibitionMetrics.start();
+        try {
+            storage.save(rows);
+            ExhibitionMetrics.add(ExhibitionMetrics.RECORDS_WRITTEN, rows.size());
+        } finally {
+            ExhibitionMetrics.SAVE.record(started);
+        }
+    }
+
+    public void loadFromFile() {
+        long started = ExhibitionMetrics.start();
+        try {
+            try {
+                storage.load((name, artistLastName, day, visitorsCount, comments) -> {
+                    if (nameIndex.containsKey(nameKey(name))) {
+                        System.err.println("Дублікат назви виставки пропущено: " + name);
+                        return;
+                    }
+                    Exhibition exhibition = new Exhibition(name, artistLastName, day, visitorsCount, comments);
+                    rowAdd(exhibition);
+                    indexAdd(exhibition);
+                });
+                ExhibitionMetrics.add(ExhibitionMetrics.RECORDS_READ, exhibitions.size());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            if (journal != null) {
+                try {
+                    journal.replay();
+                } catch (IOException e) {
+                    System.err.println("Помилка читання журналу: " + e.getMessage());
+                }
+            }
+        } finally {
+            ExhibitionMetrics.LOAD.record(started);
+        }
+    }
+
+    static int readStorage(Path path, ExhibitionCsv.RowHandler handler) throws IOException {
+        if (MappedExhibitionStore.isMapped(path)) {
+            try (MappedExhibitionStore store = MappedExhibitionStore.open(path)) {
+                store.forEachLive(slot -> handler.row(store.name(slot), store.artistLastName(slot), store.day(slot),
+                        store.visitors(slot), store.comments(slot)));
+                return store.size();
+            }
+        }
+        return ExhibitionBinary.isBinary(path) ? ExhibitionBinary.read(path, handler) : ExhibitionCsv.read(path, handler);
+    }
+
+    public static int convert(Path source, Path target) throws IOException {
+        List<Exhibition> rows = new ArrayList<>();
+        readStorage(source, (name, artistLastName, day, visitorsCount, comments) ->
+                rows.add(new Exhibition(name, artistLastName, day, visitorsCount, comments)));
+        if (MappedExhibitionStore.isMapped(target)) {
+            MappedExhibitionStore.deleteFiles(target);
+            try (MappedExhibitionStore store = MappedExhibitionStore.open(target)) {
+                for (Exhibition exhibition : rows) {
+                    store.add(exhibition);
+                }
+            }
+        } else if (ExhibitionBinary.isBinary(target)) {
+            ExhibitionBinary.write(target, rows);
+        } else {
+            ExhibitionCsv.write(target, rows);
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,144 @@
+package lab7;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Типізований день виставки: дата, день тижня або довільний рядок.
+// Рівність — за нормалізованим значенням: "Середа", "середа" і "ср" — один день.
+final class ExhibitionDay implements Comparable<ExhibitionDay> {
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final String[] WEEKDAY_NAMES = {"Понеділок", "Вівторок", "Середа", "Четвер", "П'ятниця", "Субота", "Неділя"};
+    static final Comparator<String> TEXT_ORDER = Comparator.comparing(ExhibitionDay::of);
+
+    private static final int PARSED_LIMIT = 4096;
+
+    private static final ExhibitionDay MISSING = new ExhibitionDay("", "", NO_DATE, null);
+    // LRU за доступом: часті дні лишаються в кеші, рідкісні витісняються по одному.
+    private static final Map<String, ExhibitionDay> PARSED = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExhibitionDay> eldest) {
+            return size() > PARSED_LIMIT;
+        }
+    };
+    private static final Map<String, DayOfWeek> WEEKDAYS = new HashMap<>();
+
+    static {
+        String[][] names = {
+                {"понеділок", "пн", "monday", "mon"},
+                {"вівторок", "вт", "tuesday", "tue"},
+                {"середа", "ср", "wednesday", "wed"},
+                {"четвер", "чт", "thursday", "thu"},
+                {"п'ятниця", "пт", "friday", "fri"},
+                {"субота", "сб", "saturday", "sat"},
+                {"неділя", "нд", "sunday", "sun"},
+        };
+        for (int i = 0; i < names.length; i++) {
+            for (String name : names[i]) {
+                WEEKDAYS.put(name, DayOfWeek.of(i + 1));
+            }
+        }
+    }
+
+    private final String text;
+    private final String normalized;
+    private final int epochDay;
+    private final DayOfWeek dayOfWeek;
+
+    private ExhibitionDay(String text, String normalized, int epochDay, DayOfWeek dayOfWeek) {
+        this.text = text;
+        this.normalized = normalized;
+        this.epochDay = epochDay;
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public static ExhibitionDay of(String text) {
+        if (text == null) {
+            return MISSING;
+        }
+        synchronized (PARSED) {
+            return PARSED.computeIfAbsent(text, ExhibitionDay::parse);
+        }
+    }
+
+    private static ExhibitionDay parse(String text) {
+        String normalized = text.trim().toLowerCase(Locale.ROOT).replace('’', '\'').replace('ʼ', '\'');
+        DayOfWeek weekday = WEEKDAYS.get(normalized);
+        if (weekday != null) {
+            return new ExhibitionDay(text, normalized, NO_DATE, weekday);
+        }
+        LocalDate date = parseDate(normalized);
+        if (date != null) {
+            return new ExhibitionDay(text, normalized, (int) date.toEpochDay(), date.getDayOfWeek());
+        }
+        return new ExhibitionDay(text, normalized, NO_DATE, null);
+    }
+
+    static LocalDate parseDate(String text) {
+        try {
+            if (text.length() == 10 && text.charAt(4) == '-') {
+                return LocalDate.parse(text);
+            }
+            if (text.length() == 10 && text.charAt(2) == '.' && text.charAt(5) == '.') {
+                return LocalDate.of(Integer.parseInt(text.substring(6)), Integer.parseInt(text.substring(3, 5)),
+                        Integer.parseInt(text.substring(0, 2)));
+            }
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean hasDate() {
+        return epochDay != NO_DATE;
+    }
+
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    private int kind() {
+        return hasDate() ? 1 : dayOfWeek != null ? 0 : 2;
+    }
+
+    @Override
+    public int compareTo(ExhibitionDay other) {
+        int result = Integer.compare(kind(), other.kind());
+        if (result == 0 && hasDate()) {
+            result = Integer.compare(epochDay, other.epochDay);
+        } else if (result == 0 && dayOfWeek != null) {
+            result = dayOfWeek.compareTo(other.dayOfWeek);
+        } else if (result == 0) {
+            result = normalized.compareTo(other.normalized);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ExhibitionDay && compareTo((ExhibitionDay) other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return hasDate() ? epochDay : dayOfWeek != null ? dayOfWeek.hashCode() : normalized.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
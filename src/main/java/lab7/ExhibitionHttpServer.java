@@ -0,0 +1,335 @@
+package lab7;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// HTTP/JSON-доступ до каталогу для інших інструментів.
+class ExhibitionHttpServer {
+    static final int DEFAULT_PORT = 8080;
+
+    private final ExhibitionDatabase database;
+    private final boolean serialized;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    ExhibitionHttpServer(ExhibitionDatabase database, int port) throws IOException {
+        this.database = database;
+        this.serialized = !(database instanceof ConcurrentExhibitionDatabase || database instanceof ShardedExhibitionDatabase);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = requestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "exhibitions-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public int start() {
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private <T> T call(Supplier<T> action) {
+        if (!serialized) {
+            return action.get();
+        }
+        synchronized (database) {
+            return action.get();
+        }
+    }
+
+    private void appendRows(StringBuilder body, Supplier<List<Exhibition>> rows) {
+        call(() -> ExhibitionJson.appendArray(body, rows.get()));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        StringBuilder body = new StringBuilder();
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (path.equals("/exhibitions") || path.startsWith("/exhibitions/")) {
+                String name = path.length() > "/exhibitions/".length() ? path.substring("/exhibitions/".length()) : null;
+                status = exhibitions(method, name, exchange, body);
+            } else if (path.equals("/search") && method.equals("GET")) {
+                status = search(query, body);
+            } else if (path.equals("/suggest") && method.equals("GET")) {
+                int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(Main.PAGE_SIZE)));
+                appendRows(body, () -> database.suggestNames(query.getOrDefault("prefix", ""), limit));
+                status = 200;
+            } else if (path.equals("/similar") && method.equals("GET")) {
+                int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(Main.PAGE_SIZE)));
+                appendRows(body, () -> database.searchSimilarNames(query.getOrDefault("q", ""), limit));
+                status = 200;
+            } else if (path.equals("/sort") && method.equals("GET")) {
+                status = sort(query, body);
+            } else if (path.equals("/aggregate") && method.equals("GET")) {
+                status = aggregate(query, body);
+            } else if (path.equals("/cache") && method.equals("GET")) {
+                body.append(database.getResultCache().stats());
+                status = 200;
+            } else if (path.equals("/metrics") && method.equals("GET")) {
+                body.append(ExhibitionMetrics.toJson());
+                status = 200;
+            } else if (path.equals("/changes") && method.equals("GET")) {
+                status = changes(query, body);
+            } else {
+                status = error(body, 404, "Невідомий шлях: " + method + " " + path);
+            }
+        } catch (IllegalArgumentException e) {
+            body.setLength(0);
+            status = error(body, 400, e.getMessage() == null ? "Невірний запит" : e.getMessage());
+        } catch (RuntimeException e) {
+            body.setLength(0);
+            status = error(body, 500, String.valueOf(e.getMessage()));
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private int exhibitions(String method, String name, HttpExchange exchange, StringBuilder body) throws IOException {
+        switch (method) {
+            case "GET": {
+                requireName(name);
+                boolean found = call(() -> {
+                    Exhibition exhibition = database.searchExhibitionByName(name);
+                    if (exhibition != null) {
+                        ExhibitionJson.appendObject(body, exhibition);
+                    }
+                    return exhibition != null;
+                });
+                return found ? 200 : error(body, 404, "Виставка з такою назвою не знайдена.");
+            }
+            case "POST": {
+                Exhibition exhibition = readExhibition(exchange);
+                if (!call(() -> database.addExhibition(exhibition))) {
+                    return error(body, 409, "Виставка з такою назвою вже існує.");
+                }
+                ExhibitionJson.appendObject(body, exhibition);
+                return 201;
+            }
+            case "PUT": {
+                requireName(name);
+                Exhibition exhibition = readExhibition(exchange);
+                if (!call(() -> database.editExhibition(name, exhibition))) {
+                    return call(() -> database.searchExhibitionByName(name)) == null
+                            ? error(body, 404, "Виставка з такою назвою не знайдена.")
+                            : error(body, 409, "Виставка з такою назвою вже існує.");
+                }
+                ExhibitionJson.appendObject(body, exhibition);
+                return 200;
+            }
+            case "DELETE": {
+                requireName(name);
+                if (!call(() -> database.deleteExhibition(name))) {
+                    return error(body, 404, "Виставка з такою назвою не знайдена.");
+                }
+                body.append("{\"deleted\":true}");
+                return 200;
+            }
+            default:
+                return error(body, 405, "Метод не підтримується: " + method);
+        }
+    }
+
+    private int search(Map<String, String> query, StringBuilder body) {
+        String q = query.getOrDefault("q", "");
+        appendRows(body, () -> database.findByComments(q));
+        return 200;
+    }
+
+    private int sort(Map<String, String> query, StringBuilder body) {
+        String parameter = query.getOrDefault("by", "назва");
+        if (!ExhibitionDatabase.isSortParameter(parameter)) {
+            return error(body, 400, "Невідомий параметр для сортування.");
+        }
+        int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(Main.PAGE_SIZE)));
+        appendRows(body, () -> {
+            Exhibition after = query.containsKey("after") ? database.searchExhibitionByName(query.get("after")) : null;
+            return database.getSortedPage(parameter, after, limit);
+        });
+        return 200;
+    }
+
+    private int changes(Map<String, String> query, StringBuilder body) {
+        ChangeFeed feed = database.getChangeFeed();
+        if (feed == null) {
+            return error(body, 404, "Потік змін не ввімкнено (--changes).");
+        }
+        long after = Long.parseLong(query.getOrDefault("after", "0"));
+        int limit = Integer.parseInt(query.getOrDefault("limit", "1000"));
+        List<ChangeEvent> events;
+        try {
+            events = feed.readAfter(after, limit);
+        } catch (IllegalStateException e) {
+            return error(body, 410, e.getMessage());
+        } catch (IOException e) {
+            return error(body, 500, "Помилка читання файлу змін: " + e.getMessage());
+        }
+        body.append("{\"sequence\":").append(feed.getSequence()).append(",\"events\":");
+        ChangeEvent.appendArray(body, events);
+        body.append('}');
+        return 200;
+    }
+
+    private int aggregate(Map<String, String> query, StringBuilder body) {
+        ExhibitionQuery filter = new ExhibitionQuery().artist(query.get("artist")).day(query.get("day"))
+                .visitorsBetween(Integer.parseInt(query.getOrDefault("min", String.valueOf(Integer.MIN_VALUE))),
+                        Integer.parseInt(query.getOrDefault("max", String.valueOf(Integer.MAX_VALUE))));
+        String group = query.getOrDefault("group", "день");
+        Map<String, Long> groups = call(() -> database.groupVisitors(filter, group));
+        long total = groups.values().stream().mapToLong(Long::longValue).sum();
+        body.append("{\"total\":").append(total).append(",\"groups\":");
+        ExhibitionJson.appendTotals(body, groups);
+        if (!groups.isEmpty()) {
+            Map.Entry<String, Long> quietest = Collections.min(groups.entrySet(), Map.Entry.comparingByValue());
+            body.append(",\"least\":");
+            ExhibitionJson.appendString(body, quietest.getKey());
+        }
+        body.append('}');
+        return 200;
+    }
+
+    private static Exhibition readExhibition(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            Exhibition exhibition = ExhibitionJson.parseExhibition(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            if (exhibition.getName().isBlank()) {
+                throw new IllegalArgumentException("Порожня назва");
+            }
+            return exhibition;
+        }
+    }
+
+    private static void requireName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Не вказано назву виставки");
+        }
+    }
+
+    private static int error(StringBuilder body, int status, String message) {
+        body.append("{\"error\":");
+        ExhibitionJson.appendString(body, message);
+        body.append('}');
+        return status;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> result = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return result;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            result.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    static void loadTest(String baseUrl, int clients, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().executor(requestExecutor()).build();
+        String[] paths = {
+                "/exhibitions/" + encodePath("Виставка-1"),
+                "/search?q=" + URLEncoder.encode("слово1*", StandardCharsets.UTF_8),
+                "/sort?by=" + URLEncoder.encode("кількість відвідувачів", StandardCharsets.UTF_8) + "&limit=20",
+                "/aggregate?group=" + URLEncoder.encode("день", StandardCharsets.UTF_8),
+        };
+        List<long[]> perClient = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Thread[] threads = new Thread[clients];
+        for (int c = 0; c < clients; c++) {
+            int clientId = c;
+            threads[c] = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = 0; System.nanoTime() < deadline; i++) {
+                    HttpRequest request;
+                    if (i % 50 == 49) {
+                        String name = "Навантаження-" + clientId + "-" + i;
+                        request = HttpRequest.newBuilder(URI.create(baseUrl + "/exhibitions"))
+                                .POST(HttpRequest.BodyPublishers.ofString(ExhibitionJson.appendObject(new StringBuilder(),
+                                        new Exhibition(name, "Тест", "Понеділок", i, "навантаження")).toString())).build();
+                    } else if (i % 50 == 0 && i > 0) {
+                        request = HttpRequest.newBuilder(URI.create(baseUrl + "/exhibitions/"
+                                + encodePath("Навантаження-" + clientId + "-" + (i - 1)))).DELETE().build();
+                    } else {
+                        request = HttpRequest.newBuilder(URI.create(baseUrl + paths[i % paths.length])).GET().build();
+                    }
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - started;
+                }
+                perClient.add(Arrays.copyOf(latencies, count));
+            });
+            threads[c].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.println("Клієнтів: " + clients + ", тривалість: " + seconds + " с");
+        System.out.println("Запитів: " + all.length + ", помилок: " + errors.get());
+        System.out.printf("Пропускна здатність: %.0f запитів/с%n", all.length / (double) seconds);
+        System.out.printf("Затримка p50: %.3f мс, p99: %.3f мс, макс: %.3f мс%n",
+                BatchRunner.percentile(all, 0.50) / 1e6, BatchRunner.percentile(all, 0.99) / 1e6,
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static String encodePath(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,219 @@
+package lab7;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Мінімальний JSON для плоских об'єктів виставок: один об'єкт на рядок (JSON Lines).
+class ExhibitionJson {
+    public static StringBuilder appendObject(StringBuilder out, Exhibition exhibition) {
+        out.append("{\"name\":");
+        appendString(out, exhibition.getName());
+        out.append(",\"artistLastName\":");
+        appendString(out, exhibition.getArtistLastName());
+        out.append(",\"day\":");
+        appendString(out, exhibition.getDay());
+        out.append(",\"visitorsCount\":").append(exhibition.getVisitorsCount());
+        out.append(",\"comments\":");
+        appendString(out, exhibition.getComments());
+        return out.append('}');
+    }
+
+    public static StringBuilder appendArray(StringBuilder out, List<? extends Exhibition> exhibitions) {
+        out.append('[');
+        for (int i = 0; i < exhibitions.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendObject(out, exhibitions.get(i));
+        }
+        return out.append(']');
+    }
+
+    public static StringBuilder appendTotals(StringBuilder out, Map<String, Long> totals) {
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : totals.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            appendString(out, entry.getKey());
+            out.append(':').append(entry.getValue());
+        }
+        return out.append('}');
+    }
+
+    public static StringBuilder appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"');
+    }
+
+    public static Exhibition parseExhibition(String text) {
+        Map<String, Object> fields = parseObject(text);
+        Object visitorsCount = fields.get("visitorsCount");
+        if (!(visitorsCount instanceof Long) || (Long) visitorsCount > Integer.MAX_VALUE || (Long) visitorsCount < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Поле visitorsCount має бути цілим числом");
+        }
+        return new Exhibition(stringField(fields, "name"), stringField(fields, "artistLastName"), stringField(fields, "day"),
+                ((Long) visitorsCount).intValue(), stringField(fields, "comments"));
+    }
+
+    private static String stringField(Map<String, Object> fields, String key) {
+        Object value = fields.get(key);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Поле " + key + " має бути рядком");
+        }
+        return (String) value;
+    }
+
+    public static Map<String, Object> parseObject(String text) {
+        int[] position = {skipSpaces(text, 0)};
+        expect(text, position, '{');
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (peek(text, position) == '}') {
+            position[0]++;
+        } else {
+            while (true) {
+                String key = parseString(text, position);
+                expect(text, position, ':');
+                fields.put(key, parseValue(text, position));
+                char next = peek(text, position);
+                position[0]++;
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("Очікувалася кома в позиції " + (position[0] - 1));
+                }
+            }
+        }
+        if (skipSpaces(text, position[0]) != text.length()) {
+            throw new IllegalArgumentException("Зайві дані після об'єкта");
+        }
+        return fields;
+    }
+
+    private static Object parseValue(String text, int[] position) {
+        char c = peek(text, position);
+        if (c == '"') {
+            return parseString(text, position);
+        }
+        int start = position[0];
+        while (position[0] < text.length() && ",}] \t\r\n".indexOf(text.charAt(position[0])) < 0) {
+            position[0]++;
+        }
+        String token = text.substring(start, position[0]);
+        switch (token) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return null;
+            default:
+                try {
+                    return token.contains(".") || token.contains("e") || token.contains("E")
+                            ? (Object) Double.parseDouble(token) : (Object) Long.parseLong(token);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Невірне значення: " + token);
+                }
+        }
+    }
+
+    private static String parseString(String text, int[] position) {
+        expect(text, position, '"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position[0] >= text.length()) {
+                throw new IllegalArgumentException("Незакритий рядок");
+            }
+            char c = text.charAt(position[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position[0] >= text.length()) {
+                throw new IllegalArgumentException("Незакритий рядок");
+            }
+            char escaped = text.charAt(position[0]++);
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (position[0] + 4 > text.length()) {
+                        throw new IllegalArgumentException("Невірна послідовність \\u");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(position[0], position[0] + 4), 16));
+                    position[0] += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+    }
+
+    private static void expect(String text, int[] position, char expected) {
+        if (peek(text, position) != expected) {
+            throw new IllegalArgumentException("Очікувався символ '" + expected + "' в позиції " + position[0]);
+        }
+        position[0]++;
+    }
+
+    private static char peek(String text, int[] position) {
+        position[0] = skipSpaces(text, position[0]);
+        if (position[0] >= text.length()) {
+            throw new IllegalArgumentException("Неочікуваний кінець JSON");
+        }
+        return text.charAt(position[0]);
+    }
+
+    private static int skipSpaces(String text, int position) {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,124 @@
+package lab7;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Метрики операцій бази: лічильники, гістограми затримок і обсяги введення-виведення.
+class ExhibitionMetrics {
+    private static volatile boolean enabled;
+    private static final Map<String, LatencyHistogram> TIMERS = new LinkedHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new LinkedHashMap<>();
+
+    static final LatencyHistogram LOAD = timer("loadFromFile");
+    static final LatencyHistogram SAVE = timer("saveToFile");
+    static final LatencyHistogram ADD = timer("addExhibition");
+    static final LatencyHistogram ADD_ALL = timer("addAll");
+    static final LatencyHistogram EDIT = timer("editExhibition");
+    static final LatencyHistogram DELETE = timer("deleteExhibition");
+    static final LatencyHistogram FIND = timer("searchExhibitionByName");
+    static final LatencyHistogram SEARCH_COMMENTS = timer("searchComments");
+    static final LatencyHistogram SORT = timer("sort");
+    static final LatencyHistogram QUERY = timer("query");
+    static final LatencyHistogram NAME_SEARCH = timer("nameSearch");
+    static final LatencyHistogram READ_LOCK_WAIT = timer("readLockWait");
+    static final LatencyHistogram WRITE_LOCK_WAIT = timer("writeLockWait");
+
+    static final LongAdder BYTES_READ = counter("bytesRead");
+    static final LongAdder BYTES_WRITTEN = counter("bytesWritten");
+    static final LongAdder RECORDS_READ = counter("recordsRead");
+    static final LongAdder RECORDS_WRITTEN = counter("recordsWritten");
+
+    private static LatencyHistogram timer(String name) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        TIMERS.put(name, histogram);
+        return histogram;
+    }
+
+    private static LongAdder counter(String name) {
+        LongAdder adder = new LongAdder();
+        COUNTERS.put(name, adder);
+        return adder;
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void add(LongAdder counter, long amount) {
+        if (enabled) {
+            counter.add(amount);
+        }
+    }
+
+    public static void startReporter(long period) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exhibition-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> report(System.err), period, period, TimeUnit.SECONDS);
+    }
+
+    public static void report(PrintStream out) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-24s %10s %10s %10s %10s %10s %10s%n", "Операція (мкс)", "Кількість", "Середнє", "p50", "p90", "p99", "Макс"));
+        for (Map.Entry<String, LatencyHistogram> entry : TIMERS.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long count = histogram.count();
+            if (count == 0) {
+                continue;
+            }
+            text.append(String.format(Locale.ROOT, "%-24s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), count,
+                    histogram.mean() / 1e3, histogram.percentile(0.50) / 1e3, histogram.percentile(0.90) / 1e3,
+                    histogram.percentile(0.99) / 1e3, histogram.max() / 1e3));
+        }
+        for (Map.Entry<String, LongAdder> entry : COUNTERS.entrySet()) {
+            text.append(String.format("%-24s %10d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        out.print(text);
+        out.flush();
+    }
+
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{\"enabled\":").append(enabled).append(",\"operations\":{");
+        boolean first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : TIMERS.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.count() == 0) {
+                continue;
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            ExhibitionJson.appendString(json, entry.getKey());
+            json.append(":{\"count\":").append(histogram.count())
+                    .append(",\"meanNanos\":").append((long) histogram.mean())
+                    .append(",\"p50Nanos\":").append(histogram.percentile(0.50))
+                    .append(",\"p90Nanos\":").append(histogram.percentile(0.90))
+                    .append(",\"p99Nanos\":").append(histogram.percentile(0.99))
+                    .append(",\"maxNanos\":").append(histogram.max()).append('}');
+        }
+        json.append('}');
+        for (Map.Entry<String, LongAdder> entry : COUNTERS.entrySet()) {
+            json.append(',');
+            ExhibitionJson.appendString(json, entry.getKey());
+            json.append(':').append(entry.getValue().sum());
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,65 @@
+package lab7;
+
+import java.util.function.IntPredicate;
+
+// Аналітичний запит: фільтри за художником, днем і діапазоном відвідувачів.
+class ExhibitionQuery {
+    private String artistLastName;
+    private String day;
+    private int minVisitors = Integer.MIN_VALUE;
+    private int maxVisitors = Integer.MAX_VALUE;
+    private boolean parallel = true;
+
+    public ExhibitionQuery artist(String artistLastName) {
+        this.artistLastName = artistLastName;
+        return this;
+    }
+
+    public ExhibitionQuery day(String day) {
+        this.day = day;
+        return this;
+    }
+
+    public ExhibitionQuery visitorsBetween(int min, int max) {
+        this.minVisitors = min;
+        this.maxVisitors = max;
+        return this;
+    }
+
+    public ExhibitionQuery sequential() {
+        this.parallel = false;
+        return this;
+    }
+
+    public String getArtistLastName() {
+        return artistLastName;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public boolean matches(Exhibition exhibition) {
+        return (artistLastName == null || artistLastName.equals(exhibition.getArtistLastName()))
+                && (day == null || day.equals(exhibition.getDay()))
+                && exhibition.getVisitorsCount() >= minVisitors && exhibition.getVisitorsCount() <= maxVisitors;
+    }
+
+    // Фільтр над кодами стовпців; якщо значення немає в словнику, жоден рядок не підходить.
+    IntPredicate compile(ColumnarExhibitionStore columns) {
+        int artistCode = artistLastName == null ? -1 : columns.artistCodeOf(artistLastName);
+        int dayCode = day == null ? -1 : columns.dayCodeOf(day);
+        if ((artistLastName != null && artistCode < 0) || (day != null && dayCode < 0)) {
+            return row -> false;
+        }
+        int min = minVisitors;
+        int max = maxVisitors;
+        return row -> (artistCode < 0 || columns.artistCode(row) == artistCode)
+                && (dayCode < 0 || columns.dayCode(row) == dayCode)
+                && columns.visitors(row) >= min && columns.visitors(row) <= max;
+    }
+}
@@ -0,0 +1,69 @@
+package lab7;
+
+import java.io.*;
+
+// Виведення таблиці виставок великими блоками замість println на кожен рядок.
+class ExhibitionTableRenderer {
+    static final String RULE = "-------------------- --------------- ---------- ---------- --------------------";
+    private static final int[] WIDTHS = {20, 15, 10, 10, 20};
+    private static final int CHUNK = 64 * 1024;
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final PrintStream out;
+    private final StringBuilder buffer = new StringBuilder(CHUNK + 512);
+
+    ExhibitionTableRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    public ExhibitionTableRenderer header() {
+        buffer.append(Exhibition.getTableHeader()).append(NEW_LINE).append(RULE).append(NEW_LINE);
+        return this;
+    }
+
+    public ExhibitionTableRenderer row(Exhibition exhibition) {
+        pad(exhibition.getName(), WIDTHS[0]).append(' ');
+        pad(exhibition.getArtistLastName(), WIDTHS[1]).append(' ');
+        pad(exhibition.getDay(), WIDTHS[2]).append(' ');
+        int start = buffer.length();
+        buffer.append(exhibition.getVisitorsCount());
+        spaces(WIDTHS[3] - (buffer.length() - start)).append(' ');
+        pad(exhibition.getComments(), WIDTHS[4]).append(NEW_LINE);
+        if (buffer.length() >= CHUNK) {
+            write();
+        }
+        return this;
+    }
+
+    public ExhibitionTableRenderer rows(Iterable<? extends Exhibition> exhibitions) {
+        for (Exhibition exhibition : exhibitions) {
+            row(exhibition);
+        }
+        return this;
+    }
+
+    public void flush() {
+        write();
+        out.flush();
+    }
+
+    private void write() {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    private StringBuilder pad(String value, int width) {
+        String text = String.valueOf(value);
+        buffer.append(text);
+        return spaces(width - text.length());
+    }
+
+    private StringBuilder spaces(int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.append(' ');
+        }
+        return buffer;
+    }
+}
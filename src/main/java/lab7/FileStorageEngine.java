@@ -0,0 +1,82 @@
+package lab7;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+// Файлове сховище; формат визначається розширенням.
+public class FileStorageEngine implements StorageEngine {
+    private final Path file;
+
+    public FileStorageEngine(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        if (MappedExhibitionStore.isMapped(file)) {
+            return "сховище .mmap";
+        }
+        return ExhibitionBinary.isBinary(file) ? "двійковий файл" : "текстовий файл";
+    }
+
+    @Override
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public int load(ExhibitionCsv.RowHandler handler) throws IOException {
+        if (!Files.exists(file)) {
+            System.out.println("Файл " + file + " не знайдено. Створюється новий файл.");
+            try {
+                Files.createFile(file);
+            } catch (IOException e) {
+                System.err.println("Помилка при створенні файлу: " + e.getMessage());
+            }
+            return 0;
+        }
+        ExhibitionMetrics.add(ExhibitionMetrics.BYTES_READ, Files.size(file));
+        return ExhibitionDatabase.readStorage(file, handler);
+    }
+
+    @Override
+    public void save(Collection<Exhibition> rows) throws IOException {
+        if (MappedExhibitionStore.isMapped(file)) {
+            saveMapped(rows);
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (ExhibitionBinary.isBinary(file)) {
+            ExhibitionBinary.write(temp, rows);
+        } else {
+            ExhibitionCsv.write(temp, rows);
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        long bytes = ExhibitionMetrics.isEnabled() ? Files.size(temp) : 0;
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        ExhibitionMetrics.add(ExhibitionMetrics.BYTES_WRITTEN, bytes);
+    }
+
+    private void saveMapped(Collection<Exhibition> rows) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp.mmap");
+        MappedExhibitionStore.deleteFiles(temp);
+        try (MappedExhibitionStore store = MappedExhibitionStore.open(temp)) {
+            for (Exhibition exhibition : rows) {
+                store.add(exhibition);
+            }
+        }
+        MappedExhibitionStore.moveFiles(temp, file);
+    }
+}
@@ -0,0 +1,76 @@
+package lab7;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Лог-лінійна гістограма затримок на зразок HdrHistogram.
+class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    public void record(long started) {
+        if (started != 0) {
+            recordValue(System.nanoTime() - started);
+        }
+    }
+
+    public void recordValue(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long percentile(double p) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return i + 1 < buckets.length() ? Math.min(lowerBound(i + 1) - 1, max.get()) : max.get();
+            }
+        }
+        return max.get();
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1));
+    }
+
+    static long lowerBound(int index) {
+        int block = index / SUB_COUNT;
+        int sub = index % SUB_COUNT;
+        if (block == 0) {
+            return sub;
+        }
+        return (long) (SUB_COUNT + sub) << (block - 1);
+    }
+}
@@ -0,0 +1,499 @@
+package lab7;
+
+import java.io.*;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+public class Main {
+    static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) {
+        try {
+            System.setOut(new PrintStream(System.out, true, "UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            e.printStackTrace();
+        }
+
+        List<String> options = Arrays.asList(args);
+        if (args.length == 3 && args[0].equals("--convert")) {
+            try {
+                int count = ExhibitionDatabase.convert(Paths.get(args[1]), Paths.get(args[2]));
+                System.out.println("Конвертовано записів: " + count);
+            } catch (IOException e) {
+                System.err.println("Помилка конвертації: " + e.getMessage());
+            }
+            return;
+        }
+        String importSource = null;
+        String exportTarget = null;
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("--import")) {
+                importSource = args[i + 1];
+            } else if (args[i].equals("--export")) {
+                exportTarget = args[i + 1];
+            }
+        }
+        for (String option : args) {
+            if (option.equals("--bench") || option.startsWith("--bench=")) {
+                String sizes = option.equals("--bench") ? "1000,100000,1000000" : option.substring("--bench=".length());
+                try {
+                    ExhibitionBenchmark.run(Arrays.stream(sizes.split(",")).mapToInt(Integer::parseInt).toArray());
+                } catch (IOException e) {
+                    System.err.println("Помилка бенчмарку: " + e.getMessage());
+                }
+                return;
+            }
+        }
+        for (String option : args) {
+            if (option.equals("--bench-storage") || option.startsWith("--bench-storage=")) {
+                String[] counts = (option.equals("--bench-storage") ? "10000,5000" : option.substring("--bench-storage=".length())).split(",");
+                try {
+                    ExhibitionBenchmark.compareStorage(Integer.parseInt(counts[0]), counts.length > 1 ? Integer.parseInt(counts[1]) : 5000);
+                } catch (IOException e) {
+                    System.err.println("Помилка бенчмарку: " + e.getMessage());
+                }
+                return;
+            }
+        }
+        String fileName = options.contains("--format=bin") ? "exhibitions.bin" : "exhibitions.txt";
+        for (String option : args) {
+            if (option.startsWith("--file=")) {
+                fileName = option.substring("--file=".length());
+            }
+        }
+
+        boolean serve = false;
+        int port = ExhibitionHttpServer.DEFAULT_PORT;
+        int loadTestClients = 0;
+        int loadTestSeconds = 10;
+        String url = "http://localhost:" + ExhibitionHttpServer.DEFAULT_PORT;
+        for (String option : args) {
+            if (option.equals("--serve") || option.startsWith("--serve=")) {
+                serve = true;
+                if (option.startsWith("--serve=")) {
+                    port = Integer.parseInt(option.substring("--serve=".length()));
+                }
+            } else if (option.equals("--loadtest") || option.startsWith("--loadtest=")) {
+                loadTestClients = option.equals("--loadtest") ? 16 : Integer.parseInt(option.substring("--loadtest=".length()));
+            } else if (option.startsWith("--seconds=")) {
+                loadTestSeconds = Integer.parseInt(option.substring("--seconds=".length()));
+            } else if (option.startsWith("--url=")) {
+                url = option.substring("--url=".length());
+            }
+        }
+        if (loadTestClients > 0 && !serve) {
+            try {
+                ExhibitionHttpServer.loadTest(url, loadTestClients, loadTestSeconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+
+        for (String option : args) {
+            if (option.equals("--metrics") || option.startsWith("--metrics=")) {
+                ExhibitionMetrics.enable();
+                if (option.startsWith("--metrics=")) {
+                    ExhibitionMetrics.startReporter(Long.parseLong(option.substring("--metrics=".length())));
+                }
+            }
+        }
+
+        Scanner scanner = new Scanner(System.in, "UTF-8");
+        ExhibitionDatabase exhibitionDatabase;
+        String shardOption = null;
+        for (String option : args) {
+            if (option.startsWith("--shard=")) {
+                shardOption = option.substring("--shard=".length());
+            }
+        }
+        if (shardOption != null && (MappedExhibitionStore.isMapped(Paths.get(fileName)) || options.contains("--storage=memory"))) {
+            System.err.println("Помилка параметрів: --shard не поєднується зі сховищем .mmap і --storage=memory.");
+            return;
+        }
+        if (MappedExhibitionStore.isMapped(Paths.get(fileName))) {
+            exhibitionDatabase = new MappedExhibitionDatabase(fileName);
+        } else if (shardOption != null) {
+            boolean byDay = shardOption.equals("day");
+            int count = shardOption.startsWith("artist:") ? Integer.parseInt(shardOption.substring("artist:".length())) : 8;
+            exhibitionDatabase = new ShardedExhibitionDatabase(fileName, byDay, count);
+        } else if (options.contains("--storage=memory")) {
+            StorageEngine storage = new MemoryStorageEngine();
+            exhibitionDatabase = serve ? new ConcurrentExhibitionDatabase(storage) : new ExhibitionDatabase(storage);
+        } else if (serve) {
+            exhibitionDatabase = new ConcurrentExhibitionDatabase(fileName);
+        } else {
+            exhibitionDatabase = new ExhibitionDatabase(fileName);
+        }
+        if (options.contains("--journal")) {
+            exhibitionDatabase.enableJournal();
+        }
+        if (options.contains("--durability=group")) {
+            long flushMillis = SnapshotFlusher.DEFAULT_INTERVAL_MS;
+            int flushEvery = SnapshotFlusher.DEFAULT_MAX_PENDING;
+            for (String option : args) {
+                if (option.startsWith("--flush-ms=")) {
+                    flushMillis = Long.parseLong(option.substring("--flush-ms=".length()));
+                } else if (option.startsWith("--flush-every=")) {
+                    flushEvery = Integer.parseInt(option.substring("--flush-every=".length()));
+                }
+            }
+            exhibitionDatabase.enableGroupCommit(flushMillis, flushEvery);
+        }
+        exhibitionDatabase.loadFromFile();
+        if (options.contains("--changes")) {
+            exhibitionDatabase.enableChangeFeed();
+        }
+        String batchSource = null;
+        double rate = 0;
+        for (String option : args) {
+            if (option.equals("--batch") || option.startsWith("--batch=")) {
+                batchSource = option.equals("--batch") ? "" : option.substring("--batch=".length());
+            } else if (option.startsWith("--rate=")) {
+                rate = Double.parseDouble(option.substring("--rate=".length()));
+            }
+        }
+        if (serve) {
+            try {
+                ExhibitionHttpServer server = new ExhibitionHttpServer(exhibitionDatabase, port);
+                int actualPort = server.start();
+                System.out.println("HTTP-сервер слухає порт " + actualPort);
+                if (loadTestClients > 0) {
+                    ExhibitionHttpServer.loadTest("http://localhost:" + actualPort, loadTestClients, loadTestSeconds);
+                    server.stop();
+                    exhibitionDatabase.close();
+                    return;
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    server.stop();
+                    exhibitionDatabase.close();
+                }));
+                Thread.currentThread().join();
+            } catch (IOException e) {
+                System.err.println("Помилка HTTP-сервера: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        if (batchSource != null) {
+            List<String> commands = new ArrayList<>();
+            boolean fromArgs = false;
+            for (int i = options.indexOf("--batch") + 1; batchSource.isEmpty() && i > 0 && i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    commands.add(args[i]);
+                    fromArgs = true;
+                }
+            }
+            int failed = 0;
+            try {
+                if (!fromArgs) {
+                    commands = BatchRunner.readCommands(batchSource.isEmpty() ? "-" : batchSource);
+                }
+                failed = new BatchRunner(exhibitionDatabase, System.out).run(commands, rate);
+            } catch (IOException e) {
+                System.err.println("Помилка читання команд: " + e.getMessage());
+                failed = 1;
+            }
+            exhibitionDatabase.close();
+            System.exit(failed == 0 ? 0 : 1);
+        }
+        if (importSource != null || exportTarget != null) {
+            try {
+                if (importSource != null) {
+                    BulkTransfer.importRows(exhibitionDatabase, importSource);
+                }
+                if (exportTarget != null) {
+                    BulkTransfer.exportRows(exhibitionDatabase, exportTarget);
+                }
+            } catch (IOException e) {
+                System.err.println("Помилка пакетної операції: " + e.getMessage());
+            }
+            exhibitionDatabase.close();
+            return;
+        }
+
+        while (true) {
+            System.out.println("\nМеню:");
+            System.out.println("a. Додати виставку");
+            System.out.println("e. Редагувати виставку");
+            System.out.println("d. Видалити виставку");
+            System.out.println("s. Показати всі виставки");
+            System.out.println("f. Пошук виставки за назвою");
+            System.out.println("o. Сортування виставок");
+            System.out.println("t. Загальна кількість відвідувачів");
+            System.out.println("m. День з найменшою кількістю відвідувачів");
+            System.out.println("c. Пошук коментарів за словом");
+            System.out.println("y. Аналітичний запит");
+            System.out.println("w. Відвідувачі за днями тижня і періодами");
+            System.out.println("i. Метрики операцій");
+            System.out.println("q. Вихід");
+            System.out.print("Оберіть опцію: ");
+            String choice = scanner.nextLine();
+
+            switch (choice) {
+                case "a":
+                    addExhibition(scanner, exhibitionDatabase);
+                    break;
+                case "e":
+                    editExhibition(scanner, exhibitionDatabase);
+                    break;
+                case "d":
+                    deleteExhibition(scanner, exhibitionDatabase);
+                    break;
+                case "s":
+                    displayExhibitions(scanner, exhibitionDatabase);
+                    break;
+                case "f":
+                    searchExhibition(scanner, exhibitionDatabase);
+                    break;
+                case "o":
+                    sortExhibitions(scanner, exhibitionDatabase);
+                    break;
+                case "t":
+                    exhibitionDatabase.totalVisitors();
+                    break;
+                case "m":
+                    exhibitionDatabase.dayWithLeastVisitors();
+                    break;
+                case "c":
+                    searchComments(scanner, exhibitionDatabase);
+                    break;
+                case "y":
+                    runQuery(scanner, exhibitionDatabase);
+                    break;
+                case "w":
+                    calendarReport(scanner, exhibitionDatabase);
+                    break;
+                case "i":
+                    if (ExhibitionMetrics.isEnabled()) {
+                        ExhibitionMetrics.report(System.out);
+                    } else {
+                        System.out.println("Метрики вимкнено. Запустіть програму з параметром --metrics.");
+                    }
+                    break;
+                case "q":
+                    exhibitionDatabase.close();
+                    System.out.println("Завершення програми.");
+                    return;
+                default:
+                    System.out.println("Невірний вибір.");
+            }
+        }
+    }
+
+    private static void addExhibition(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        System.out.print("Назва: ");
+        String name = scanner.nextLine();
+
+        System.out.print("Прізвище художника: ");
+        String artistLastName = scanner.nextLine();
+
+        System.out.print("День: ");
+        String day = scanner.nextLine();
+
+        System.out.print("Кількість відвідувачів: ");
+        int visitorsCount = Integer.parseInt(scanner.nextLine());
+
+        System.out.print("Коментарі: ");
+        String comments = scanner.nextLine();
+
+        Exhibition exhibition = new Exhibition(name, artistLastName, day, visitorsCount, comments);
+        if (exhibitionDatabase.addExhibition(exhibition)) {
+            System.out.println("Виставку успішно додано.");
+        }
+    }
+
+    private static void editExhibition(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        System.out.print("Введіть назву виставки, яку потрібно редагувати: ");
+        String name = scanner.nextLine();
+
+        Exhibition existingExhibition = exhibitionDatabase.searchExhibitionByName(name);
+        if (existingExhibition != null) {
+            System.out.print("Нова назва: ");
+            String newName = scanner.nextLine();
+
+            System.out.print("Нове прізвище художника: ");
+            String newArtistLastName = scanner.nextLine();
+
+            System.out.print("Новий день: ");
+            String newDay = scanner.nextLine();
+
+            System.out.print("Нова кількість відвідувачів: ");
+            int newVisitorsCount = Integer.parseInt(scanner.nextLine());
+
+            System.out.print("Нові коментарі: ");
+            String newComments = scanner.nextLine();
+
+            Exhibition newExhibition = new Exhibition(newName, newArtistLastName, newDay, newVisitorsCount, newComments);
+            if (exhibitionDatabase.editExhibition(name, newExhibition)) {
+                System.out.println("Виставку успішно відредаговано.");
+            }
+        } else {
+            System.out.println("Виставка з такою назвою не знайдена.");
+        }
+    }
+
+    private static void deleteExhibition(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        System.out.print("Введіть назву виставки, яку потрібно видалити: ");
+        String name = scanner.nextLine();
+
+        if (exhibitionDatabase.deleteExhibition(name)) {
+            System.out.println("Виставку успішно видалено.");
+        }
+    }
+
+    private static void searchExhibition(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        System.out.print("Введіть назву для пошуку: ");
+        String name = scanner.nextLine();
+
+        Exhibition foundExhibition = exhibitionDatabase.searchExhibitionByName(name);
+        if (foundExhibition != null) {
+            System.out.println("Знайдено виставку: " + foundExhibition);
+        } else {
+            System.out.println("Виставка з такою назвою не знайдена.");
+            List<Exhibition> candidates = exhibitionDatabase.searchSimilarNames(name, 5);
+            if (candidates.isEmpty()) {
+                candidates = exhibitionDatabase.suggestNames(name, 5);
+            }
+            if (!candidates.isEmpty()) {
+                System.out.println("Можливо, ви мали на увазі:");
+                for (Exhibition candidate : candidates) {
+                    System.out.println("  " + candidate.getName());
+                }
+            }
+        }
+    }
+
+    private static void sortExhibitions(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        System.out.print("Сортувати за полем (назва/прізвище художника/день/кількість відвідувачів): ");
+        String parameter = scanner.nextLine();
+        if (!ExhibitionDatabase.isSortParameter(parameter)) {
+            System.out.println("Невідомий параметр для сортування.");
+            return;
+        }
+        Exhibition after = null;
+        while (true) {
+            List<Exhibition> page = exhibitionDatabase.getSortedPage(parameter, after, PAGE_SIZE + 1);
+            new ExhibitionTableRenderer(System.out).header().rows(page.subList(0, Math.min(page.size(), PAGE_SIZE))).flush();
+            if (page.size() <= PAGE_SIZE) {
+                return;
+            }
+            System.out.print("n — наступна сторінка, Enter — повернутися до меню: ");
+            if (!scanner.nextLine().equalsIgnoreCase("n")) {
+                return;
+            }
+            after = page.get(PAGE_SIZE - 1);
+        }
+    }
+
+    private static void displayExhibitions(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        int pages = Math.max(1, (exhibitionDatabase.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        int page = 0;
+        while (true) {
+            exhibitionDatabase.displayExhibitions(page * PAGE_SIZE, PAGE_SIZE);
+            if (pages == 1) {
+                return;
+            }
+            System.out.println("Сторінка " + (page + 1) + " з " + pages);
+            System.out.print("n — наступна, p — попередня, номер — перейти, a — усі, Enter — повернутися до меню: ");
+            String command = scanner.nextLine().trim();
+            if (command.equalsIgnoreCase("n") && page + 1 < pages) {
+                page++;
+            } else if (command.equalsIgnoreCase("p") && page > 0) {
+                page--;
+            } else if (command.equalsIgnoreCase("a")) {
+                exhibitionDatabase.displayExhibitions();
+                return;
+            } else if (command.matches("\\d+")) {
+                page = Math.max(0, Math.min(Integer.parseInt(command) - 1, pages - 1));
+            } else if (command.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private static void searchComments(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        System.out.print("Введіть слово для пошуку у коментарях (слово*, a b — усі слова, a | b — будь-яке): ");
+        String word = scanner.nextLine();
+        exhibitionDatabase.searchCommentsByWord(word);
+    }
+
+    private static void calendarReport(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        long[] weekdays = exhibitionDatabase.getVisitorsByWeekday();
+        int busiest = -1;
+        int quietest = -1;
+        for (int i = 0; i < weekdays.length; i++) {
+            System.out.println(ExhibitionDay.WEEKDAY_NAMES[i] + ": " + weekdays[i]);
+            if (weekdays[i] > 0 && (busiest < 0 || weekdays[i] > weekdays[busiest])) {
+                busiest = i;
+            }
+            if (weekdays[i] > 0 && (quietest < 0 || weekdays[i] < weekdays[quietest])) {
+                quietest = i;
+            }
+        }
+        if (busiest >= 0) {
+            System.out.println("Найбільше відвідувачів: " + ExhibitionDay.WEEKDAY_NAMES[busiest]
+                    + ", найменше: " + ExhibitionDay.WEEKDAY_NAMES[quietest]);
+        }
+
+        System.out.print("Початок періоду (рррр-мм-дд, Enter — пропустити): ");
+        String from = scanner.nextLine().trim();
+        if (from.isEmpty()) {
+            return;
+        }
+        System.out.print("Кінець періоду (рррр-мм-дд): ");
+        String to = scanner.nextLine().trim();
+        LocalDate start = ExhibitionDay.parseDate(from);
+        LocalDate end = ExhibitionDay.parseDate(to);
+        if (start == null || end == null) {
+            System.out.println("Невірний формат дати.");
+            return;
+        }
+        System.out.println("Відвідувачів за період: " + exhibitionDatabase.visitorsBetween(start, end));
+        for (Map.Entry<LocalDate, Long> week : exhibitionDatabase.getVisitorsByWeek(start, end).entrySet()) {
+            System.out.println("  тиждень з " + week.getKey() + ": " + week.getValue());
+        }
+    }
+
+    private static void runQuery(Scanner scanner, ExhibitionDatabase exhibitionDatabase) {
+        ExhibitionQuery query = new ExhibitionQuery();
+        System.out.print("Художник (Enter — будь-який): ");
+        String artist = scanner.nextLine().trim();
+        if (!artist.isEmpty()) {
+            query.artist(artist);
+        }
+        System.out.print("День (Enter — будь-який): ");
+        String day = scanner.nextLine().trim();
+        if (!day.isEmpty()) {
+            query.day(day);
+        }
+        System.out.print("Мінімум відвідувачів (Enter — без обмеження): ");
+        String min = scanner.nextLine().trim();
+        System.out.print("Максимум відвідувачів (Enter — без обмеження): ");
+        String max = scanner.nextLine().trim();
+        query.visitorsBetween(min.isEmpty() ? Integer.MIN_VALUE : Integer.parseInt(min), max.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(max));
+
+        System.out.print("Результат (список/день/художник/топ N): ");
+        String action = scanner.nextLine().trim().toLowerCase();
+        if (action.equals("день") || action.equals("художник")) {
+            for (Map.Entry<String, Long> group : exhibitionDatabase.groupVisitors(query, action).entrySet()) {
+                System.out.println(group.getKey() + ": " + group.getValue());
+            }
+            return;
+        }
+        List<Exhibition> rows;
+        if (action.startsWith("топ")) {
+            String count = action.substring("топ".length()).trim();
+            rows = exhibitionDatabase.topByVisitors(query, count.isEmpty() ? 10 : Integer.parseInt(count));
+        } else {
+            rows = exhibitionDatabase.select(query);
+        }
+        new ExhibitionTableRenderer(System.out).header().rows(rows).flush();
+    }
+}
@@ -0,0 +1,76 @@
+package lab7;
+
+// Легковаговий ключ слота .mmap для впорядкованих індексів бази; назовні віддаються лише копії store.copy().
+class MappedExhibition extends Exhibition {
+    private final MappedExhibitionStore store;
+    private final int slot;
+
+    MappedExhibition(MappedExhibitionStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String getName() {
+        return store.name(slot);
+    }
+
+    @Override
+    public String getArtistLastName() {
+        return store.artistLastName(slot);
+    }
+
+    @Override
+    public String getDay() {
+        return store.day(slot);
+    }
+
+    @Override
+    public ExhibitionDay getParsedDay() {
+        return ExhibitionDay.of(store.day(slot));
+    }
+
+    @Override
+    public int getVisitorsCount() {
+        return store.visitors(slot);
+    }
+
+    @Override
+    public String getComments() {
+        return store.comments(slot);
+    }
+
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setArtistLastName(String artistLastName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setDay(String day) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setVisitorsCount(int visitorsCount) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setComments(String comments) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %-15s %-10s %-10d %-20s", getName(), getArtistLastName(), getDay(), getVisitorsCount(), getComments());
+    }
+}
@@ -0,0 +1,507 @@
+package lab7;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// База поверх сховища .mmap без завантаження записів у купу.
+class MappedExhibitionDatabase extends ExhibitionDatabase {
+    private final Path path;
+    private MappedExhibitionStore store;
+    private boolean nameSearchBuilt;
+    private final Map<String, NavigableSet<Exhibition>> sortedSlots = new HashMap<>();
+
+    public MappedExhibitionDatabase(String fileName) {
+        super(fileName);
+        path = Paths.get(fileName);
+    }
+
+    @Override
+    public void enableJournal() {
+        System.out.println("Сховище .mmap фіксує кожну зміну саме, журнал не використовується.");
+    }
+
+    @Override
+    public void enableGroupCommit(long intervalMillis, int maxPending) {
+        System.out.println("Сховище .mmap фіксує кожну зміну саме, групове збереження не використовується.");
+    }
+
+    @Override
+    public synchronized void loadFromFile() {
+        long started = ExhibitionMetrics.start();
+        try {
+            getResultCache().clear();
+            sortedSlots.clear();
+            try {
+                if (store != null) {
+                    store.close();
+                    store = null;
+                }
+                store = MappedExhibitionStore.open(path);
+                nameSearchBuilt = false;
+                ExhibitionMetrics.add(ExhibitionMetrics.RECORDS_READ, store.size());
+            } catch (IOException e) {
+                System.err.println("Помилка відкриття сховища: " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        } finally {
+            ExhibitionMetrics.LOAD.record(started);
+        }
+    }
+
+    @Override
+    public synchronized boolean addExhibition(Exhibition exhibition) {
+        long started = ExhibitionMetrics.start();
+        try {
+            try {
+                if (!store.add(exhibition)) {
+                    System.out.println("Виставка з такою назвою вже існує.");
+                    return false;
+                }
+                getResultCache().invalidate(exhibition.getComments());
+                recordChange(exhibition.getName(), exhibition);
+                updateNameSearch(null, exhibition.getName());
+                indexSlot(store.find(exhibition.getName()));
+                store.force();
+                publishChange("add", exhibition.getName(), exhibition);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Помилка запису у сховище: " + e.getMessage());
+                return false;
+            }
+        } finally {
+            ExhibitionMetrics.ADD.record(started);
+        }
+    }
+
+    @Override
+    public synchronized List<Exhibition> addAll(List<Exhibition> batch) {
+        long started = ExhibitionMetrics.start();
+        try {
+            List<Exhibition> rejected = new ArrayList<>();
+            try {
+                for (Exhibition exhibition : batch) {
+                    if (!store.add(exhibition)) {
+                        rejected.add(exhibition);
+                    } else {
+                        getResultCache().invalidate(exhibition.getComments());
+                        recordChange(exhibition.getName(), exhibition);
+                        updateNameSearch(null, exhibition.getName());
+                        indexSlot(store.find(exhibition.getName()));
+                        publishChange("add", exhibition.getName(), exhibition);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Помилка запису у сховище: " + e.getMessage());
+            }
+            store.force();
+            return rejected;
+        } finally {
+            ExhibitionMetrics.ADD_ALL.record(started);
+        }
+    }
+
+    @Override
+    public synchronized boolean editExhibition(String name, Exhibition newExhibition) {
+        long started = ExhibitionMetrics.start();
+        try {
+            int slot = store.find(name);
+            if (slot < 0) {
+                System.out.println("Виставка з такою назвою не знайдена.");
+                return false;
+            }
+            String oldComments = store.comments(slot);
+            unindexSlot(slot);
+            try {
+                if (!store.update(name, newExhibition)) {
+                    indexSlot(slot);
+                    System.out.println("Виставка з такою назвою вже існує.");
+                    return false;
+                }
+                indexSlot(slot);
+                getResultCache().invalidate(oldComments);
+                getResultCache().invalidate(newExhibition.getComments());
+                recordChange(name, null);
+                recordChange(newExhibition.getName(), newExhibition);
+                updateNameSearch(name, newExhibition.getName());
+                store.force();
+                publishChange("edit", name, newExhibition);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Помилка запису у сховище: " + e.getMessage());
+                return false;
+            }
+        } finally {
+            ExhibitionMetrics.EDIT.record(started);
+        }
+    }
+
+    @Override
+    public synchronized boolean deleteExhibition(String name) {
+        long started = ExhibitionMetrics.start();
+        try {
+            int slot = store.find(name);
+            if (slot < 0) {
+                System.out.println("Виставка з такою назвою не знайдена.");
+                return false;
+            }
+            String oldComments = store.comments(slot);
+            unindexSlot(slot);
+            try {
+                store.delete(name);
+                getResultCache().invalidate(oldComments);
+                recordChange(name, null);
+                updateNameSearch(name, null);
+                store.force();
+                publishChange("delete", name, null);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Помилка запису у сховище: " + e.getMessage());
+                return false;
+            }
+        } finally {
+            ExhibitionMetrics.DELETE.record(started);
+        }
+    }
+
+    @Override
+    synchronized NameSearchIndex getNameSearch() {
+        NameSearchIndex index = super.getNameSearch();
+        if (!nameSearchBuilt) {
+            store.forEachLive(slot -> index.add(store.name(slot)));
+            nameSearchBuilt = true;
+        }
+        return index;
+    }
+
+    private void updateNameSearch(String removed, String added) {
+        if (!nameSearchBuilt) {
+            return;
+        }
+        if (removed != null) {
+            super.getNameSearch().remove(removed);
+        }
+        if (added != null) {
+            super.getNameSearch().add(added);
+        }
+    }
+
+    // Впорядковані індекси тримають лише ключі слотів і будуються при першому сортуванні за параметром.
+    private NavigableSet<Exhibition> sortedIndex(String parameter) {
+        Comparator<Exhibition> order = sortComparator(parameter);
+        if (order == null) {
+            return null;
+        }
+        return sortedSlots.computeIfAbsent(parameter.toLowerCase(), key -> {
+            NavigableSet<Exhibition> index = new TreeSet<>(order);
+            store.forEachLive(slot -> index.add(store.view(slot)));
+            return index;
+        });
+    }
+
+    private void indexSlot(int slot) {
+        for (NavigableSet<Exhibition> index : sortedSlots.values()) {
+            index.add(store.view(slot));
+        }
+    }
+
+    private void unindexSlot(int slot) {
+        for (NavigableSet<Exhibition> index : sortedSlots.values()) {
+            index.remove(store.view(slot));
+        }
+    }
+
+    private List<Exhibition> copies() {
+        List<Exhibition> rows = new ArrayList<>(store.size());
+        store.forEachLive(slot -> rows.add(store.copy(slot)));
+        return rows;
+    }
+
+    @Override
+    synchronized List<Exhibition> snapshotRows() {
+        return copies();
+    }
+
+    @Override
+    public synchronized int size() {
+        return store.size();
+    }
+
+    @Override
+    public synchronized Exhibition searchExhibitionByName(String name) {
+        long started = ExhibitionMetrics.start();
+        try {
+            return lookupName(name);
+        } finally {
+            ExhibitionMetrics.FIND.record(started);
+        }
+    }
+
+    @Override
+    synchronized Exhibition lookupName(String name) {
+        int slot = store.find(name);
+        return slot < 0 ? null : store.copy(slot);
+    }
+
+    @Override
+    public synchronized List<Exhibition> findByComments(String query) {
+        long started = ExhibitionMetrics.start();
+        try {
+            List<Exhibition> cached = getResultCache().get(query);
+            if (cached == null) {
+                List<Exhibition> result = new ArrayList<>();
+                store.forEachLive(slot -> {
+                    if (CommentIndex.matches(query, CommentIndex.tokenize(store.comments(slot)))) {
+                        result.add(store.copy(slot));
+                    }
+                });
+                cached = getResultCache().put(query, result);
+            }
+            return detach(cached);
+        } finally {
+            ExhibitionMetrics.SEARCH_COMMENTS.record(started);
+        }
+    }
+
+    // Кеш тримає власні копії, тож кожен виклик отримує окремі об'єкти, зміна яких не зачіпає кеш.
+    private static List<Exhibition> detach(List<Exhibition> rows) {
+        List<Exhibition> copies = new ArrayList<>(rows.size());
+        for (Exhibition row : rows) {
+            copies.add(new Exhibition(row.getName(), row.getArtistLastName(), row.getDay(), row.getVisitorsCount(), row.getComments()));
+        }
+        return copies;
+    }
+
+    @Override
+    public void searchCommentsByWord(String word) {
+        System.out.println("Список коментарів, що містять слово \"" + word + "\":");
+        for (Exhibition exhibition : findByComments(word)) {
+            System.out.println(exhibition.getComments());
+        }
+    }
+
+    @Override
+    public synchronized void displayExhibitions() {
+        ExhibitionTableRenderer renderer = new ExhibitionTableRenderer(System.out).header();
+        store.forEachLive(slot -> renderer.row(store.view(slot)));
+        renderer.flush();
+    }
+
+    @Override
+    public synchronized int displayExhibitions(int offset, int limit) {
+        ExhibitionTableRenderer renderer = new ExhibitionTableRenderer(System.out).header();
+        int[] position = {0, 0};
+        store.forEachLive(slot -> {
+            if (position[0]++ >= offset && position[1] < limit) {
+                renderer.row(store.view(slot));
+                position[1]++;
+            }
+        });
+        renderer.flush();
+        return position[1];
+    }
+
+    @Override
+    public synchronized List<Exhibition> getSortedPage(String parameter, Exhibition after, int limit) {
+        long started = ExhibitionMetrics.start();
+        try {
+            NavigableSet<Exhibition> index = sortedIndex(parameter);
+            if (index == null || limit <= 0) {
+                return Collections.emptyList();
+            }
+            List<Exhibition> page = new ArrayList<>(Math.min(limit, index.size()));
+            for (Exhibition key : after == null ? index : index.tailSet(after, false)) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(store.copy(((MappedExhibition) key).getSlot()));
+            }
+            return page;
+        } finally {
+            ExhibitionMetrics.SORT.record(started);
+        }
+    }
+
+    @Override
+    public synchronized void sortExhibitionsByParameter(String parameter) {
+        long started = ExhibitionMetrics.start();
+        try {
+            NavigableSet<Exhibition> index = sortedIndex(parameter);
+            if (index == null) {
+                System.out.println("Невідомий параметр для сортування.");
+                return;
+            }
+            new ExhibitionTableRenderer(System.out).header().rows(index).flush();
+        } finally {
+            ExhibitionMetrics.SORT.record(started);
+        }
+    }
+
+    @Override
+    public synchronized long getTotalVisitors() {
+        return store.totalVisitors();
+    }
+
+    @Override
+    public synchronized Map<String, Long> getVisitorsByDay() {
+        Map<String, Long> totals = new TreeMap<>(ExhibitionDay.TEXT_ORDER);
+        store.forEachLive(slot -> totals.merge(store.day(slot), (long) store.visitors(slot), Long::sum));
+        return totals;
+    }
+
+    private synchronized CalendarRollup calendar() {
+        CalendarRollup calendar = new CalendarRollup();
+        store.forEachLive(slot -> calendar.add(store.view(slot)));
+        return calendar;
+    }
+
+    @Override
+    public long[] getVisitorsByWeekday() {
+        return calendar().getWeekdayVisitors();
+    }
+
+    @Override
+    public long visitorsBetween(LocalDate from, LocalDate to) {
+        return calendar().visitorsBetween(from, to);
+    }
+
+    @Override
+    public Map<LocalDate, Long> getVisitorsByWeek(LocalDate from, LocalDate to) {
+        return calendar().visitorsByWeek(from, to);
+    }
+
+    @Override
+    public synchronized void totalVisitors() {
+        System.out.println("Сумарна кількість відвідувачів: " + store.totalVisitors());
+        for (Map.Entry<String, Long> day : getVisitorsByDay().entrySet()) {
+            System.out.println("  " + day.getKey() + ": " + day.getValue());
+        }
+    }
+
+    @Override
+    public synchronized void dayWithLeastVisitors() {
+        Map<String, Long> totals = getVisitorsByDay();
+        if (totals.isEmpty()) {
+            System.out.println("Список виставок порожній.");
+            return;
+        }
+        Map.Entry<String, Long> quietest = Collections.min(totals.entrySet(), Map.Entry.comparingByValue());
+        Exhibition min = getSortedPage("кількість відвідувачів", null, 1).get(0);
+        System.out.println("День з найменшою кількістю відвідувачів: " + quietest.getKey() + " (" + quietest.getValue() + ")");
+        System.out.println("Виставка з найменшою кількістю відвідувачів: " + min.getName() + " (" + min.getVisitorsCount() + ")");
+    }
+
+    @Override
+    public synchronized long sumVisitors(String day, String artistLastName) {
+        long[] sum = {0};
+        store.forEachLive(slot -> {
+            if ((day == null || day.equals(store.day(slot))) && (artistLastName == null || artistLastName.equals(store.artistLastName(slot)))) {
+                sum[0] += store.visitors(slot);
+            }
+        });
+        return sum[0];
+    }
+
+    @Override
+    public synchronized List<Exhibition> findByArtist(String artistLastName) {
+        List<Exhibition> result = new ArrayList<>();
+        store.forEachLive(slot -> {
+            if (artistLastName.equals(store.artistLastName(slot))) {
+                result.add(store.copy(slot));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public synchronized List<Exhibition> select(ExhibitionQuery query) {
+        long started = ExhibitionMetrics.start();
+        try {
+            return scan(query).map(key -> store.copy(key.getSlot())).collect(Collectors.toList());
+        } finally {
+            ExhibitionMetrics.QUERY.record(started);
+        }
+    }
+
+    @Override
+    public synchronized Map<String, Long> groupVisitors(ExhibitionQuery query, String groupBy) {
+        long started = ExhibitionMetrics.start();
+        try {
+            Function<Exhibition, String> key = groupBy.equalsIgnoreCase("день") ? Exhibition::getDay : Exhibition::getArtistLastName;
+            return scan(query).collect(Collectors.groupingBy(key, TreeMap::new, Collectors.summingLong(Exhibition::getVisitorsCount)));
+        } finally {
+            ExhibitionMetrics.QUERY.record(started);
+        }
+    }
+
+    @Override
+    public synchronized List<Exhibition> topByVisitors(ExhibitionQuery query, int limit) {
+        long started = ExhibitionMetrics.start();
+        try {
+            if (limit <= 0) {
+                return Collections.emptyList();
+            }
+            Comparator<Exhibition> byVisitors = Comparator.comparingInt(Exhibition::getVisitorsCount)
+                    .thenComparing(Exhibition::getName, Comparator.reverseOrder());
+            PriorityQueue<MappedExhibition> top = scan(query)
+                    .collect(() -> new PriorityQueue<>(byVisitors),
+                            (queue, row) -> {
+                                queue.add(row);
+                                if (queue.size() > limit) {
+                                    queue.poll();
+                                }
+                            },
+                            (left, right) -> {
+                                for (MappedExhibition row : right) {
+                                    left.add(row);
+                                    if (left.size() > limit) {
+                                        left.poll();
+                                    }
+                                }
+                            });
+            List<Exhibition> result = new ArrayList<>(top.size());
+            for (MappedExhibition key : top) {
+                result.add(store.copy(key.getSlot()));
+            }
+            result.sort(Comparator.comparingInt(Exhibition::getVisitorsCount).reversed().thenComparing(Exhibition::getName));
+            return result;
+        } finally {
+            ExhibitionMetrics.QUERY.record(started);
+        }
+    }
+
+    // Обхід слотів прямо у відображеному файлі: фільтр читає поля через ключі слотів, копіюються лише рядки результату.
+    private Stream<MappedExhibition> scan(ExhibitionQuery query) {
+        IntStream slots = IntStream.range(0, store.slotCount());
+        return (query.isParallel() ? slots.parallel() : slots).filter(store::isLive).mapToObj(store::view).filter(query::matches);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            try {
+                if (store != null) {
+                    store.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Помилка закриття сховища: " + e.getMessage());
+            }
+        }
+    }
+}
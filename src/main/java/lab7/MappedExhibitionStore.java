@@ -0,0 +1,443 @@
+package lab7;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+// Сховище поза купою (*.mmap): слоти записів, купа рядків і хеш-індекс назв.
+class MappedExhibitionStore implements Closeable {
+    static final int MAGIC = 0x45584d4d;
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 64;
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_HEAP = 64 * 1024;
+    private static final int INITIAL_INDEX = 2048;
+
+    private static final int H_SLOT_COUNT = 8;
+    private static final int H_LIVE_COUNT = 12;
+    private static final int H_FREE_HEAD = 16;
+    private static final int H_INDEX_CAPACITY = 20;
+    private static final int H_INDEX_USED = 24;
+    private static final int H_HEAP_END = 32;
+    private static final int H_TOTAL_VISITORS = 40;
+    private static final int H_HEAP_DEAD = 48;
+    private static final long HEAP_COMPACT_MIN = 1L << 20;
+
+    private static final int S_FLAGS = 0;
+    private static final int S_NAME_HASH = 4;
+    private static final int S_VISITORS = 8;
+    private static final int S_NEXT_FREE = 12;
+    private static final int S_NAME = 16;
+    private static final int S_ARTIST = 28;
+    private static final int S_DAY = 40;
+    private static final int S_COMMENTS = 52;
+    private static final int[] STRING_FIELDS = {S_NAME, S_ARTIST, S_DAY, S_COMMENTS};
+
+    private static final int INDEX_EMPTY = 0;
+    private static final int INDEX_DELETED = -1;
+
+    private final FileChannel slotChannel;
+    private final FileChannel heapChannel;
+    private final FileChannel indexChannel;
+    private MappedByteBuffer slots;
+    private MappedByteBuffer heap;
+    private MappedByteBuffer index;
+
+    private MappedExhibitionStore(FileChannel slotChannel, FileChannel heapChannel, FileChannel indexChannel) {
+        this.slotChannel = slotChannel;
+        this.heapChannel = heapChannel;
+        this.indexChannel = indexChannel;
+    }
+
+    public static boolean isMapped(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".mmap");
+    }
+
+    public static MappedExhibitionStore open(Path path) throws IOException {
+        boolean created = !Files.exists(path) || Files.size(path) == 0;
+        MappedExhibitionStore store = new MappedExhibitionStore(openChannel(path), openChannel(sibling(path, ".strings")),
+                openChannel(sibling(path, ".index")));
+        if (created) {
+            store.slots = store.slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) INITIAL_SLOTS * SLOT_SIZE);
+            store.heap = store.heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_HEAP);
+            store.index = store.indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, 4L * INITIAL_INDEX);
+            store.slots.putInt(0, MAGIC);
+            store.slots.putInt(4, VERSION);
+            store.slots.putInt(H_FREE_HEAD, -1);
+            store.slots.putInt(H_INDEX_CAPACITY, INITIAL_INDEX);
+            store.force();
+        } else {
+            store.slots = store.slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, store.slotChannel.size());
+            if (store.slots.getInt(0) != MAGIC) {
+                store.close();
+                throw new IOException("Файл " + path + " не є сховищем виставок");
+            }
+            if (store.slots.getInt(4) != VERSION) {
+                store.close();
+                throw new IOException("Непідтримувана версія сховища: " + store.slots.getInt(4));
+            }
+            store.heap = store.heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_HEAP, store.heapChannel.size()));
+            store.index = store.indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, 4L * store.slots.getInt(H_INDEX_CAPACITY));
+        }
+        return store;
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    static Path sibling(Path path, String suffix) {
+        return path.resolveSibling(path.getFileName() + suffix);
+    }
+
+    public static void deleteFiles(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(sibling(path, ".strings"));
+        Files.deleteIfExists(sibling(path, ".index"));
+    }
+
+    // Основний файл переноситься останнім: поки він старий, відкриття бачить попередній знімок цілком.
+    static void moveFiles(Path source, Path target) throws IOException {
+        Files.move(sibling(source, ".strings"), sibling(target, ".strings"), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(sibling(source, ".index"), sibling(target, ".index"), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public int size() {
+        return slots.getInt(H_LIVE_COUNT);
+    }
+
+    public int slotCount() {
+        return slots.getInt(H_SLOT_COUNT);
+    }
+
+    public boolean isLive(int slot) {
+        return slots.getInt(slotOffset(slot) + S_FLAGS) == 1;
+    }
+
+    public long totalVisitors() {
+        return slots.getLong(H_TOTAL_VISITORS);
+    }
+
+    public String name(int slot) {
+        return readString(slotOffset(slot) + S_NAME);
+    }
+
+    public String artistLastName(int slot) {
+        return readString(slotOffset(slot) + S_ARTIST);
+    }
+
+    public String day(int slot) {
+        return readString(slotOffset(slot) + S_DAY);
+    }
+
+    public int visitors(int slot) {
+        return slots.getInt(slotOffset(slot) + S_VISITORS);
+    }
+
+    public String comments(int slot) {
+        return readString(slotOffset(slot) + S_COMMENTS);
+    }
+
+    public MappedExhibition view(int slot) {
+        return new MappedExhibition(this, slot);
+    }
+
+    public Exhibition copy(int slot) {
+        return new Exhibition(name(slot), artistLastName(slot), day(slot), visitors(slot), comments(slot));
+    }
+
+    public int find(String name) {
+        String key = ExhibitionDatabase.nameKey(name);
+        int hash = key.hashCode();
+        int mask = indexCapacity() - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            int entry = index.getInt(4 * i);
+            if (entry == INDEX_EMPTY) {
+                return -1;
+            }
+            if (entry != INDEX_DELETED) {
+                int slot = entry - 1;
+                if (slots.getInt(slotOffset(slot) + S_NAME_HASH) == hash && ExhibitionDatabase.nameKey(name(slot)).equals(key)) {
+                    return slot;
+                }
+            }
+        }
+    }
+
+    public boolean add(Exhibition exhibition) throws IOException {
+        if (find(exhibition.getName()) >= 0) {
+            return false;
+        }
+        int slot = slots.getInt(H_FREE_HEAD);
+        if (slot >= 0) {
+            slots.putInt(H_FREE_HEAD, slots.getInt(slotOffset(slot) + S_NEXT_FREE));
+        } else {
+            slot = slots.getInt(H_SLOT_COUNT);
+            ensureSlotCapacity(slot + 1);
+            slots.putInt(H_SLOT_COUNT, slot + 1);
+        }
+        writeSlot(slot, exhibition, false);
+        slots.putInt(H_LIVE_COUNT, size() + 1);
+        slots.putLong(H_TOTAL_VISITORS, totalVisitors() + exhibition.getVisitorsCount());
+        indexInsert(slot);
+        return true;
+    }
+
+    public boolean update(String name, Exhibition exhibition) throws IOException {
+        int slot = find(name);
+        if (slot < 0) {
+            return false;
+        }
+        int clash = find(exhibition.getName());
+        if (clash >= 0 && clash != slot) {
+            return false;
+        }
+        indexRemove(slot);
+        slots.putLong(H_TOTAL_VISITORS, totalVisitors() - visitors(slot) + exhibition.getVisitorsCount());
+        writeSlot(slot, exhibition, true);
+        indexInsert(slot);
+        compactIfNeeded();
+        return true;
+    }
+
+    public boolean delete(String name) throws IOException {
+        int slot = find(name);
+        if (slot < 0) {
+            return false;
+        }
+        indexRemove(slot);
+        int offset = slotOffset(slot);
+        slots.putLong(H_TOTAL_VISITORS, totalVisitors() - visitors(slot));
+        slots.putInt(offset + S_FLAGS, 0);
+        slots.putInt(offset + S_NEXT_FREE, slots.getInt(H_FREE_HEAD));
+        slots.putInt(H_FREE_HEAD, slot);
+        slots.putInt(H_LIVE_COUNT, size() - 1);
+        for (int field : STRING_FIELDS) {
+            addDeadBytes(slots.getInt(offset + field + 8));
+        }
+        compactIfNeeded();
+        return true;
+    }
+
+    public void forEachLive(IntConsumer action) {
+        int count = slotCount();
+        for (int slot = 0; slot < count; slot++) {
+            if (isLive(slot)) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    public void force() {
+        heap.force();
+        index.force();
+        slots.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (slots != null) {
+            force();
+        }
+        slotChannel.close();
+        heapChannel.close();
+        indexChannel.close();
+    }
+
+    private void writeSlot(int slot, Exhibition exhibition, boolean reuse) throws IOException {
+        int offset = slotOffset(slot);
+        writeString(offset + S_NAME, exhibition.getName(), reuse);
+        writeString(offset + S_ARTIST, exhibition.getArtistLastName(), reuse);
+        writeString(offset + S_DAY, exhibition.getDay(), reuse);
+        writeString(offset + S_COMMENTS, exhibition.getComments(), reuse);
+        slots.putInt(offset + S_VISITORS, exhibition.getVisitorsCount());
+        slots.putInt(offset + S_NAME_HASH, ExhibitionDatabase.nameKey(exhibition.getName()).hashCode());
+        slots.putInt(offset + S_FLAGS, 1);
+    }
+
+    private void writeString(int reference, String value, boolean reuse) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int oldLength = reuse ? slots.getInt(reference + 8) : 0;
+        if (reuse && bytes.length <= oldLength) {
+            heap.put((int) slots.getLong(reference), bytes);
+            slots.putInt(reference + 8, bytes.length);
+            addDeadBytes(oldLength - bytes.length);
+            return;
+        }
+        long end = slots.getLong(H_HEAP_END);
+        ensureHeapCapacity(end + bytes.length);
+        heap.put((int) end, bytes);
+        slots.putLong(H_HEAP_END, end + bytes.length);
+        slots.putLong(reference, end);
+        slots.putInt(reference + 8, bytes.length);
+        addDeadBytes(oldLength);
+    }
+
+    private void ensureHeapCapacity(long required) throws IOException {
+        if (required <= heap.capacity()) {
+            return;
+        }
+        long grown = Math.max(2L * heap.capacity(), required);
+        if (grown > Integer.MAX_VALUE) {
+            throw new IOException("Купа рядків сховища переповнена");
+        }
+        heap.force();
+        heap = heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+    }
+
+    private void addDeadBytes(long bytes) {
+        slots.putLong(H_HEAP_DEAD, slots.getLong(H_HEAP_DEAD) + bytes);
+    }
+
+    public long deadHeapBytes() {
+        return slots.getLong(H_HEAP_DEAD);
+    }
+
+    private void compactIfNeeded() throws IOException {
+        long dead = deadHeapBytes();
+        if (dead >= HEAP_COMPACT_MIN && dead > slots.getLong(H_HEAP_END) - dead) {
+            compactHeap();
+        }
+    }
+
+    public void compactHeap() throws IOException {
+        long tail = slots.getLong(H_HEAP_END);
+        long live = 0;
+        int count = slotCount();
+        for (int slot = 0; slot < count; slot++) {
+            if (isLive(slot)) {
+                for (int field : STRING_FIELDS) {
+                    live += slots.getInt(slotOffset(slot) + field + 8);
+                }
+            }
+        }
+        ensureHeapCapacity(tail + live);
+        long end = tail;
+        for (int slot = 0; slot < count; slot++) {
+            if (!isLive(slot)) {
+                continue;
+            }
+            for (int field : STRING_FIELDS) {
+                int reference = slotOffset(slot) + field;
+                int length = slots.getInt(reference + 8);
+                heap.put((int) end, heap, (int) slots.getLong(reference), length);
+                slots.putLong(reference, end);
+                end += length;
+            }
+        }
+        slots.putLong(H_HEAP_END, end);
+        heap.force();
+        slots.force();
+        heap.put(0, heap, (int) tail, (int) live);
+        heap.force();
+        for (int slot = 0; slot < count; slot++) {
+            if (isLive(slot)) {
+                for (int field : STRING_FIELDS) {
+                    int reference = slotOffset(slot) + field;
+                    slots.putLong(reference, slots.getLong(reference) - tail);
+                }
+            }
+        }
+        slots.putLong(H_HEAP_END, live);
+        slots.putLong(H_HEAP_DEAD, 0);
+        slots.force();
+        long size = Math.max(INITIAL_HEAP, 2 * live);
+        if (size < heap.capacity()) {
+            heap = heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            heapChannel.truncate(size);
+        }
+    }
+
+    private String readString(int reference) {
+        int offset = (int) slots.getLong(reference);
+        byte[] bytes = new byte[slots.getInt(reference + 8)];
+        heap.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensureSlotCapacity(int count) throws IOException {
+        long required = HEADER_SIZE + (long) count * SLOT_SIZE;
+        if (required <= slots.capacity()) {
+            return;
+        }
+        long grown = Math.max(required, HEADER_SIZE + 2L * (slots.capacity() - HEADER_SIZE));
+        if (grown > Integer.MAX_VALUE) {
+            throw new IOException("Сховище виставок переповнене");
+        }
+        slots.force();
+        slots = slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+    }
+
+    private int indexCapacity() {
+        return slots.getInt(H_INDEX_CAPACITY);
+    }
+
+    private void indexInsert(int slot) throws IOException {
+        if (2 * (slots.getInt(H_INDEX_USED) + 1) > indexCapacity()) {
+            rebuildIndex(size() * 4 > indexCapacity() ? indexCapacity() * 2 : indexCapacity(), slot);
+        }
+        int mask = indexCapacity() - 1;
+        int i = spread(slots.getInt(slotOffset(slot) + S_NAME_HASH)) & mask;
+        while (index.getInt(4 * i) != INDEX_EMPTY && index.getInt(4 * i) != INDEX_DELETED) {
+            i = (i + 1) & mask;
+        }
+        if (index.getInt(4 * i) == INDEX_EMPTY) {
+            slots.putInt(H_INDEX_USED, slots.getInt(H_INDEX_USED) + 1);
+        }
+        index.putInt(4 * i, slot + 1);
+    }
+
+    private void indexRemove(int slot) {
+        int mask = indexCapacity() - 1;
+        for (int i = spread(slots.getInt(slotOffset(slot) + S_NAME_HASH)) & mask; ; i = (i + 1) & mask) {
+            int entry = index.getInt(4 * i);
+            if (entry == INDEX_EMPTY) {
+                return;
+            }
+            if (entry == slot + 1) {
+                index.putInt(4 * i, INDEX_DELETED);
+                return;
+            }
+        }
+    }
+
+    private void rebuildIndex(int capacity, int pendingSlot) throws IOException {
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, 4L * capacity);
+        for (int i = 0; i < capacity; i++) {
+            index.putInt(4 * i, INDEX_EMPTY);
+        }
+        slots.putInt(H_INDEX_CAPACITY, capacity);
+        int mask = capacity - 1;
+        int used = 0;
+        int count = slotCount();
+        for (int slot = 0; slot < count; slot++) {
+            if (!isLive(slot) || slot == pendingSlot) {
+                continue;
+            }
+            int i = spread(slots.getInt(slotOffset(slot) + S_NAME_HASH)) & mask;
+            while (index.getInt(4 * i) != INDEX_EMPTY) {
+                i = (i + 1) & mask;
+            }
+            index.putInt(4 * i, slot + 1);
+            used++;
+        }
+        slots.putInt(H_INDEX_USED, used);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
@@ -0,0 +1,43 @@
+package lab7;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Сховище в пам'яті процесу: для перевірок, бенчмарків і тимчасових баз.
+class MemoryStorageEngine implements StorageEngine {
+    private List<Exhibition> rows = Collections.emptyList();
+
+    @Override
+    public String getName() {
+        return "пам'ять";
+    }
+
+    @Override
+    public Path getFile() {
+        return null;
+    }
+
+    @Override
+    public synchronized int load(ExhibitionCsv.RowHandler handler) {
+        for (Exhibition exhibition : rows) {
+            handler.row(exhibition.getName(), exhibition.getArtistLastName(), exhibition.getDay(),
+                    exhibition.getVisitorsCount(), exhibition.getComments());
+        }
+        return rows.size();
+    }
+
+    @Override
+    public void save(Collection<Exhibition> rows) {
+        List<Exhibition> copy = new ArrayList<>(rows.size());
+        for (Exhibition exhibition : rows) {
+            copy.add(new Exhibition(exhibition.getName(), exhibition.getArtistLastName(), exhibition.getDay(),
+                    exhibition.getVisitorsCount(), exhibition.getComments()));
+        }
+        synchronized (this) {
+            this.rows = copy;
+        }
+    }
+}
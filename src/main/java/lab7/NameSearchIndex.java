@@ -0,0 +1,506 @@
+package lab7;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Індекс назв для підказок і пошуку з помилками за nameKey.
+class NameSearchIndex {
+    static final int EXACT_PREFIX = 1;
+    static final int GRAM_BUDGET = 32_768;
+    private static final Node[] NO_CHILDREN = new Node[0];
+    static final int GRAM = 4;
+    private static final char PAD_START = '\u0001';
+    private static final char PAD_END = '\u0002';
+
+    private static final class Node {
+        String label;
+        Node[] children = NO_CHILDREN;
+        String name;
+        int id = -1;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    // Кандидат нечіткого пошуку; найгірший — на вершині купи.
+    private static final class Match {
+        final String key;
+        final String name;
+        final int distance;
+
+        Match(String key, String name, int distance) {
+            this.key = key;
+            this.name = name;
+            this.distance = distance;
+        }
+    }
+
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private static final Comparator<Match> WORST_FIRST = Comparator.<Match>comparingInt(match -> match.distance)
+            .thenComparing(match -> match.key).reversed();
+
+    private final Node root = new Node("");
+    private int size;
+    private String[] keys = new String[16];
+    private String[] names = new String[16];
+    private int nextId;
+    private final Map<String, Postings> grams = new HashMap<>();
+    private final ConcurrentLinkedQueue<byte[]> counters = new ConcurrentLinkedQueue<>();
+
+    public int size() {
+        return size;
+    }
+
+    public void add(String name) {
+        String key = ExhibitionDatabase.nameKey(name);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                insertChild(node, -index - 1, leaf);
+                node = leaf;
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] {child};
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        if (node.name == null) {
+            size++;
+        } else {
+            release(node.id);
+        }
+        node.name = name;
+        node.id = register(key, name);
+    }
+
+    public void remove(String name) {
+        String key = ExhibitionDatabase.nameKey(name);
+        Node parent = null;
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0 || !key.startsWith(node.children[index].label, position)) {
+                return;
+            }
+            parent = node;
+            node = node.children[index];
+            position += node.label.length();
+        }
+        if (node.name == null) {
+            return;
+        }
+        release(node.id);
+        node.name = null;
+        node.id = -1;
+        size--;
+        if (node != root) {
+            if (node.children.length == 0) {
+                removeChild(parent, node);
+                if (parent != root && parent.name == null && parent.children.length == 1) {
+                    mergeWithChild(parent);
+                }
+            } else if (node.children.length == 1) {
+                mergeWithChild(node);
+            }
+        }
+        if (nextId - size > size && nextId - size >= 1024) {
+            rebuildGrams();
+        }
+    }
+
+    public List<String> withPrefix(String prefix, int limit) {
+        String key = ExhibitionDatabase.nameKey(prefix);
+        List<String> result = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0) {
+                return result;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (position + common < key.length() && common < child.label.length()) {
+                return result;
+            }
+            node = child;
+            position += common;
+        }
+        collect(node, limit, result);
+        return result;
+    }
+
+    private static void collect(Node node, int limit, List<String> result) {
+        if (result.size() >= limit) {
+            return;
+        }
+        if (node.name != null) {
+            result.add(node.name);
+        }
+        for (Node child : node.children) {
+            collect(child, limit, result);
+        }
+    }
+
+    public static int defaultDistance(String query) {
+        return query.length() <= 4 ? 1 : 2;
+    }
+
+    public List<String> similar(String query, int maxDistance, int exactPrefix, int limit) {
+        char[] key = ExhibitionDatabase.nameKey(query).toCharArray();
+        int prefix = Math.min(exactPrefix, key.length);
+        PriorityQueue<Match> best = new PriorityQueue<>(WORST_FIRST);
+        similar(key, maxDistance, prefix, limit, best);
+        // Точний префікс лише звужує пошук; помилку в перших літерах шукаємо вже без нього.
+        if (best.isEmpty() && prefix > 0) {
+            similar(key, maxDistance, 0, limit, best);
+        }
+        List<String> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().name);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void similar(char[] key, int maxDistance, int prefix, int limit, PriorityQueue<Match> best) {
+        if (similarByGrams(key, maxDistance, prefix, limit, best)) {
+            return;
+        }
+        int maxDepth = key.length + maxDistance;
+        int[][] rows = new int[maxDepth + 1][key.length + 1];
+        for (int j = 0; j <= key.length; j++) {
+            rows[0][j] = j;
+        }
+        if (root.name != null && prefix == 0 && key.length <= maxDistance) {
+            best.add(new Match("", root.name, key.length));
+        }
+        char[] path = new char[maxDepth];
+        for (Node child : root.children) {
+            search(child, 0, key, maxDistance, prefix, limit, rows, path, best);
+        }
+    }
+
+    private boolean similarByGrams(char[] key, int maxDistance, int prefix, int limit, PriorityQueue<Match> best) {
+        List<String> queryGrams = gramsOf(key);
+        Set<String> distinct = new HashSet<>(queryGrams);
+        int threshold = queryGrams.size() - (GRAM + 1) * maxDistance - (queryGrams.size() - distinct.size());
+        if (threshold < 1 || distinct.size() > Byte.MAX_VALUE) {
+            return false;
+        }
+        List<Postings> lists = new ArrayList<>(distinct.size());
+        long total = 0;
+        for (String gram : distinct) {
+            Postings postings = grams.get(gram);
+            if (postings != null) {
+                lists.add(postings);
+                total += postings.size;
+            }
+        }
+        lists.sort(Comparator.comparingInt(postings -> -postings.size));
+        long verifyCost = Math.max(1, key.length * (2L * maxDistance + 1) / 4);
+        int skipped = 0;
+        long bestCost = Long.MAX_VALUE;
+        long remaining = total;
+        for (int d = 0; d < threshold && d <= lists.size(); d++) {
+            long cost = remaining + verifyCost * remaining / (threshold - d);
+            if (cost < bestCost) {
+                bestCost = cost;
+                skipped = d;
+            }
+            if (d < lists.size()) {
+                remaining -= lists.get(d).size;
+            }
+        }
+        if (bestCost > GRAM_BUDGET) {
+            return false;
+        }
+        threshold -= skipped;
+        byte[] counts = counter();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = skipped; i < lists.size(); i++) {
+            Postings postings = lists.get(i);
+            for (int k = 0; k < postings.size; k++) {
+                int id = postings.ids[k];
+                if (++counts[id] == threshold) {
+                    candidates.add(id);
+                }
+            }
+        }
+        for (int i = skipped; i < lists.size(); i++) {
+            Postings postings = lists.get(i);
+            for (int k = 0; k < postings.size; k++) {
+                counts[postings.ids[k]] = 0;
+            }
+        }
+        counters.offer(counts);
+        int[][] rows = new int[3][];
+        for (int id : candidates) {
+            String candidate = keys[id];
+            if (candidate == null || !matchesPrefix(candidate, key, prefix)) {
+                continue;
+            }
+            int distance = boundedDistance(key, candidate, maxDistance, rows);
+            if (distance <= maxDistance) {
+                best.add(new Match(candidate, names[id], distance));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesPrefix(String candidate, char[] key, int prefix) {
+        if (candidate.length() < prefix) {
+            return false;
+        }
+        for (int i = 0; i < prefix; i++) {
+            if (candidate.charAt(i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] counter() {
+        byte[] counts;
+        while ((counts = counters.poll()) != null) {
+            if (counts.length >= nextId) {
+                return counts;
+            }
+        }
+        return new byte[keys.length];
+    }
+
+    private static void search(Node node, int depth, char[] key, int maxDistance, int prefix, int limit, int[][] rows,
+                               char[] path, PriorityQueue<Match> best) {
+        int n = key.length;
+        for (int k = 0; k < node.label.length(); k++) {
+            int d = depth + k + 1;
+            char c = node.label.charAt(k);
+            if (d >= rows.length || d <= prefix && c != key[d - 1]) {
+                return;
+            }
+            path[d - 1] = c;
+            int[] previous = rows[d - 1];
+            int[] current = rows[d];
+            current[0] = d;
+            int rowMin = d;
+            for (int j = 1; j <= n; j++) {
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + (key[j - 1] == c ? 0 : 1));
+                if (d > 1 && j > 1 && c == key[j - 2] && path[d - 2] == key[j - 1]) {
+                    value = Math.min(value, rows[d - 2][j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound(best, maxDistance, limit)) {
+                return;
+            }
+        }
+        int end = depth + node.label.length();
+        int distance = rows[end][n];
+        if (node.name != null && end >= prefix && distance <= bound(best, maxDistance, limit)) {
+            best.add(new Match(new String(path, 0, end), node.name, distance));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        for (Node child : node.children) {
+            search(child, end, key, maxDistance, prefix, limit, rows, path, best);
+        }
+    }
+
+    private static int bound(PriorityQueue<Match> best, int maxDistance, int limit) {
+        return best.size() < limit ? maxDistance : Math.min(maxDistance, best.peek().distance - 1);
+    }
+
+    public static int distance(String first, String second) {
+        return boundedDistance(ExhibitionDatabase.nameKey(first).toCharArray(), ExhibitionDatabase.nameKey(second),
+                Integer.MAX_VALUE - 1, new int[3][]);
+    }
+
+    private static int boundedDistance(char[] a, String b, int max, int[][] rows) {
+        int m = b.length();
+        if (Math.abs(a.length - m) > max) {
+            return max + 1;
+        }
+        int outside = max + 1;
+        for (int r = 0; r < 3; r++) {
+            if (rows[r] == null || rows[r].length <= m + 1) {
+                rows[r] = new int[m + 2];
+            }
+        }
+        int[] older = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = Math.min(j, outside);
+        }
+        for (int i = 1; i <= a.length; i++) {
+            int low = Math.max(1, i - max);
+            int high = (int) Math.min(m, (long) i + max);
+            int rowMin = outside;
+            if (low == 1) {
+                current[0] = i;
+                rowMin = i;
+            } else {
+                current[low - 1] = outside;
+            }
+            current[high + 1] = outside;
+            for (int j = low; j <= high; j++) {
+                char c = b.charAt(j - 1);
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + (a[i - 1] == c ? 0 : 1));
+                if (i > 1 && j > 1 && a[i - 1] == b.charAt(j - 2) && a[i - 2] == c) {
+                    value = Math.min(value, older[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = older;
+            older = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[m], max + 1);
+    }
+
+    private static List<String> gramsOf(char[] key) {
+        char[] padded = new char[key.length + 2 * (GRAM - 1)];
+        Arrays.fill(padded, 0, GRAM - 1, PAD_START);
+        System.arraycopy(key, 0, padded, GRAM - 1, key.length);
+        Arrays.fill(padded, GRAM - 1 + key.length, padded.length, PAD_END);
+        List<String> result = new ArrayList<>(padded.length - GRAM + 1);
+        for (int i = 0; i + GRAM <= padded.length; i++) {
+            result.add(new String(padded, i, GRAM));
+        }
+        return result;
+    }
+
+    private int register(String key, String name) {
+        if (nextId == keys.length) {
+            keys = Arrays.copyOf(keys, nextId * 2);
+            names = Arrays.copyOf(names, nextId * 2);
+        }
+        int id = nextId++;
+        keys[id] = key;
+        names[id] = name;
+        for (String gram : new HashSet<>(gramsOf(key.toCharArray()))) {
+            grams.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+        return id;
+    }
+
+    private void release(int id) {
+        keys[id] = null;
+        names[id] = null;
+    }
+
+    private void rebuildGrams() {
+        String[] oldNames = names;
+        keys = new String[Math.max(16, size * 2)];
+        names = new String[keys.length];
+        nextId = 0;
+        grams.clear();
+        counters.clear();
+        renumber(root, "");
+        Arrays.fill(oldNames, null);
+    }
+
+    private void renumber(Node node, String key) {
+        String path = key + node.label;
+        if (node.name != null) {
+            node.id = register(path, node.name);
+        }
+        for (Node child : node.children) {
+            renumber(child, path);
+        }
+    }
+
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = node.children[middle].label.charAt(0);
+            if (label < c) {
+                low = middle + 1;
+            } else if (label > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static int commonPrefix(String label, String key, int position) {
+        int length = Math.min(label.length(), key.length() - position);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(position + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = childIndex(node, child.label.charAt(0));
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children;
+    }
+
+    private static void mergeWithChild(Node node) {
+        Node child = node.children[0];
+        node.label = node.label + child.label;
+        node.name = child.name;
+        node.id = child.id;
+        node.children = child.children;
+    }
+}
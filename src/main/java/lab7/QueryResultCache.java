@@ -0,0 +1,83 @@
+package lab7;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Обмежений LRU-кеш результатів пошуку в коментарях.
+class QueryResultCache {
+    static final int DEFAULT_ENTRIES = 256;
+    static final int DEFAULT_ROWS = 100_000;
+
+    private final int maxEntries;
+    private final int maxRows;
+    private final LinkedHashMap<String, List<Exhibition>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int rows;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    QueryResultCache(int maxEntries, int maxRows) {
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+    }
+
+    public synchronized List<Exhibition> get(String query) {
+        List<Exhibition> result = entries.get(query);
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    public synchronized List<Exhibition> put(String query, List<Exhibition> result) {
+        List<Exhibition> cached = Collections.unmodifiableList(result);
+        if (result.size() > maxRows || maxEntries <= 0) {
+            return cached;
+        }
+        List<Exhibition> previous = entries.put(query, cached);
+        rows += result.size() - (previous == null ? 0 : previous.size());
+        Iterator<Map.Entry<String, List<Exhibition>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || rows > maxRows) {
+            rows -= eldest.next().getValue().size();
+            eldest.remove();
+            evictions++;
+        }
+        return cached;
+    }
+
+    public synchronized void invalidate(String comments) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Set<String> tokens = CommentIndex.tokenize(comments);
+        Iterator<Map.Entry<String, List<Exhibition>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, List<Exhibition>> entry = iterator.next();
+            if (CommentIndex.matches(entry.getKey(), tokens)) {
+                rows -= entry.getValue().size();
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+        rows = 0;
+    }
+
+    public synchronized String stats() {
+        long lookups = hits + misses;
+        return String.format(Locale.ROOT, "{\"entries\":%d,\"rows\":%d,\"hits\":%d,\"misses\":%d,\"hitRate\":%.3f,\"evictions\":%d,\"invalidations\":%d}",
+                entries.size(), rows, hits, misses, lookups == 0 ? 0.0 : (double) hits / lookups, evictions, invalidations);
+    }
+}
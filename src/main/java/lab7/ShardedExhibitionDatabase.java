@@ -0,0 +1,592 @@
+package lab7;
+
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// База, розкладена за днем або за хешем прізвища художника на окремі партиції.
+class ShardedExhibitionDatabase extends ExhibitionDatabase {
+    private static final int NAME_STRIPES = 64;
+
+    private final Path file;
+    private final boolean byDay;
+    private final int artistShards;
+    private final NavigableMap<String, ConcurrentExhibitionDatabase> shards = new ConcurrentSkipListMap<>();
+    private final Map<String, String> partitionOfName = new ConcurrentHashMap<>();
+    private final Object[] nameLocks = new Object[NAME_STRIPES];
+    private final ReentrantReadWriteLock versionLock = new ReentrantReadWriteLock();
+    private long flushMillis;
+    private int flushEvery;
+
+    public ShardedExhibitionDatabase(String fileName, boolean byDay, int artistShards) {
+        super(fileName);
+        this.file = Paths.get(fileName);
+        this.byDay = byDay;
+        this.artistShards = Math.max(1, artistShards);
+        for (int i = 0; i < NAME_STRIPES; i++) {
+            nameLocks[i] = new Object();
+        }
+    }
+
+    private String partitionOf(Exhibition exhibition) {
+        return byDay ? safeKey(exhibition.getDay()) : artistPartition(exhibition.getArtistLastName());
+    }
+
+    private String artistPartition(String artistLastName) {
+        return String.valueOf(Math.floorMod(nameKey(artistLastName).hashCode(), artistShards));
+    }
+
+    private static String safeKey(String value) {
+        return value.isEmpty() ? "_" : URLEncoder.encode(value, StandardCharsets.UTF_8).replace("*", "%2A");
+    }
+
+    private String partitionPrefix() {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return (dot < 0 ? name : name.substring(0, dot)) + "-" + (byDay ? "day" : "artist" + artistShards) + "-";
+    }
+
+    private String extension() {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot);
+    }
+
+    private Path partitionFile(String key) {
+        return file.resolveSibling(partitionPrefix() + key + extension());
+    }
+
+    private ConcurrentExhibitionDatabase shard(String key) {
+        return shards.computeIfAbsent(key, k -> {
+            ConcurrentExhibitionDatabase shard = new ConcurrentExhibitionDatabase(partitionFile(k).toString());
+            if (flushMillis > 0) {
+                shard.enableGroupCommit(flushMillis, flushEvery);
+            }
+            return shard;
+        });
+    }
+
+    private Collection<ConcurrentExhibitionDatabase> partitionsFor(String day, String artistLastName) {
+        String key = byDay ? (day == null ? null : safeKey(day)) : (artistLastName == null ? null : artistPartition(artistLastName));
+        if (key == null) {
+            return shards.values();
+        }
+        ConcurrentExhibitionDatabase shard = shards.get(key);
+        return shard == null ? Collections.emptyList() : Collections.singletonList(shard);
+    }
+
+    private Object nameLock(String name) {
+        return nameLocks[Math.floorMod(nameKey(name).hashCode(), NAME_STRIPES)];
+    }
+
+    // Зміни партицій ідуть паралельно під спільним замком, знімок бере його ексклюзивно, щоб версія й рядки збігалися.
+    private void record(String name, Exhibition after) {
+        synchronized (this) {
+            recordChange(name, after);
+        }
+    }
+
+    @Override
+    public void enableJournal() {
+        System.out.println("Розподілена база переписує лише файл партиції, журнал не використовується.");
+    }
+
+    @Override
+    public void enableGroupCommit(long intervalMillis, int maxPending) {
+        flushMillis = intervalMillis;
+        flushEvery = maxPending;
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            shard.enableGroupCommit(intervalMillis, maxPending);
+        }
+    }
+
+    @Override
+    public void loadFromFile() {
+        String prefix = partitionPrefix();
+        String extension = extension();
+        Path directory = file.toAbsolutePath().getParent();
+        List<String> keys = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + extension)) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+                keys.add(fileName.substring(prefix.length(), fileName.length() - extension.length()));
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка читання каталогу партицій: " + e.getMessage());
+        }
+        keys.parallelStream().forEach(key -> shard(key).loadFromFile());
+        for (Map.Entry<String, ConcurrentExhibitionDatabase> entry : shards.entrySet()) {
+            for (Exhibition exhibition : entry.getValue().getExhibitions()) {
+                if (partitionOfName.putIfAbsent(nameKey(exhibition.getName()), entry.getKey()) != null) {
+                    System.err.println("Дублікат назви в партиціях пропущено: " + exhibition.getName());
+                } else {
+                    record(exhibition.getName(), exhibition);
+                }
+            }
+        }
+        if (shards.isEmpty() && Files.exists(file)) {
+            List<Exhibition> rows = new ArrayList<>();
+            try {
+                readStorage(file, (rowName, artistLastName, day, visitorsCount, comments) ->
+                        rows.add(new Exhibition(rowName, artistLastName, day, visitorsCount, comments)));
+            } catch (IOException e) {
+                System.err.println("Помилка читання " + file + ": " + e.getMessage());
+            }
+            int rejected = addAll(rows).size();
+            System.out.println("Розкладено по партиціях записів: " + (rows.size() - rejected) + " з " + file);
+        }
+    }
+
+    @Override
+    public boolean addExhibition(Exhibition exhibition) {
+        versionLock.readLock().lock();
+        try {
+            String key = nameKey(exhibition.getName());
+            String partition = partitionOf(exhibition);
+            if (partitionOfName.putIfAbsent(key, partition) != null) {
+                System.out.println("Виставка з такою назвою вже існує.");
+                return false;
+            }
+            if (!shard(partition).addExhibition(exhibition)) {
+                partitionOfName.remove(key, partition);
+                return false;
+            }
+            record(exhibition.getName(), exhibition);
+            publishChange("add", exhibition.getName(), exhibition);
+            return true;
+        } finally {
+            versionLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Exhibition> addAll(List<Exhibition> batch) {
+        versionLock.readLock().lock();
+        try {
+            List<Exhibition> rejected = new ArrayList<>();
+            Map<String, List<Exhibition>> byPartition = new TreeMap<>();
+            for (Exhibition exhibition : batch) {
+                String partition = partitionOf(exhibition);
+                if (partitionOfName.putIfAbsent(nameKey(exhibition.getName()), partition) != null) {
+                    rejected.add(exhibition);
+                } else {
+                    byPartition.computeIfAbsent(partition, key -> new ArrayList<>()).add(exhibition);
+                }
+            }
+            rejected.addAll(byPartition.entrySet().parallelStream()
+                    .flatMap(entry -> shard(entry.getKey()).addAll(entry.getValue()).stream())
+                    .collect(Collectors.toList()));
+            Set<Exhibition> skipped = Collections.newSetFromMap(new IdentityHashMap<>());
+            skipped.addAll(rejected);
+            for (Exhibition exhibition : batch) {
+                if (!skipped.contains(exhibition)) {
+                    record(exhibition.getName(), exhibition);
+                    publishChange("add", exhibition.getName(), exhibition);
+                }
+            }
+            return rejected;
+        } finally {
+            versionLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean editExhibition(String name, Exhibition newExhibition) {
+        Object first = nameLock(name);
+        Object second = nameLock(newExhibition.getName());
+        if (System.identityHashCode(first) > System.identityHashCode(second)) {
+            Object swap = first;
+            first = second;
+            second = swap;
+        }
+        synchronized (first) {
+            synchronized (second) {
+                versionLock.readLock().lock();
+                try {
+                    String oldKey = nameKey(name);
+                    String oldPartition = partitionOfName.get(oldKey);
+                    if (oldPartition == null) {
+                        System.out.println("Виставка з такою назвою не знайдена.");
+                        return false;
+                    }
+                    String newKey = nameKey(newExhibition.getName());
+                    String newPartition = partitionOf(newExhibition);
+                    boolean renamed = !newKey.equals(oldKey);
+                    if (renamed && partitionOfName.putIfAbsent(newKey, newPartition) != null) {
+                        System.out.println("Виставка з такою назвою вже існує.");
+                        return false;
+                    }
+                    if (newPartition.equals(oldPartition)) {
+                        if (!shard(oldPartition).editExhibition(name, newExhibition)) {
+                            if (renamed) {
+                                partitionOfName.remove(newKey, newPartition);
+                            }
+                            return false;
+                        }
+                    } else {
+                        if (!shard(newPartition).addExhibition(newExhibition)) {
+                            if (renamed) {
+                                partitionOfName.remove(newKey, newPartition);
+                            }
+                            return false;
+                        }
+                        if (!shard(oldPartition).deleteExhibition(name)) {
+                            shard(newPartition).deleteExhibition(newExhibition.getName());
+                            if (renamed) {
+                                partitionOfName.remove(newKey, newPartition);
+                            }
+                            return false;
+                        }
+                    }
+                    if (renamed) {
+                        partitionOfName.remove(oldKey);
+                    }
+                    partitionOfName.put(newKey, newPartition);
+                    record(name, null);
+                    record(newExhibition.getName(), newExhibition);
+                    publishChange("edit", name, newExhibition);
+                    return true;
+                } finally {
+                    versionLock.readLock().unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteExhibition(String name) {
+        synchronized (nameLock(name)) {
+            versionLock.readLock().lock();
+            try {
+                String partition = partitionOfName.get(nameKey(name));
+                if (partition == null || !shard(partition).deleteExhibition(name)) {
+                    System.out.println("Виставка з такою назвою не знайдена.");
+                    return false;
+                }
+                partitionOfName.remove(nameKey(name));
+                record(name, null);
+                publishChange("delete", name, null);
+                return true;
+            } finally {
+                versionLock.readLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<Exhibition> getExhibitions() {
+        List<Exhibition> all = new ArrayList<>();
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            all.addAll(shard.getExhibitions());
+        }
+        return all;
+    }
+
+    @Override
+    List<Exhibition> snapshotRows() {
+        List<Exhibition> all = new ArrayList<>();
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            all.addAll(shard.snapshot().getRows());
+        }
+        return all;
+    }
+
+    @Override
+    public CatalogSnapshot snapshot() {
+        versionLock.writeLock().lock();
+        try {
+            return super.snapshot();
+        } finally {
+            versionLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CatalogSnapshot pinSnapshot() {
+        versionLock.writeLock().lock();
+        try {
+            return super.pinSnapshot();
+        } finally {
+            versionLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return partitionOfName.size();
+    }
+
+    @Override
+    public Exhibition searchExhibitionByName(String name) {
+        String partition = partitionOfName.get(nameKey(name));
+        return partition == null ? null : shard(partition).searchExhibitionByName(name);
+    }
+
+    @Override
+    public List<Exhibition> suggestNames(String prefix, int limit) {
+        return shards.values().parallelStream()
+                .flatMap(shard -> shard.suggestNames(prefix, limit).stream())
+                .sorted(Comparator.comparing(exhibition -> nameKey(exhibition.getName())))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Exhibition> searchSimilarNames(String query, int limit) {
+        return shards.values().parallelStream()
+                .flatMap(shard -> shard.searchSimilarNames(query, limit).stream())
+                .sorted(Comparator.<Exhibition>comparingInt(exhibition -> NameSearchIndex.distance(query, exhibition.getName()))
+                        .thenComparing(exhibition -> nameKey(exhibition.getName())))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void displayExhibitions() {
+        new ExhibitionTableRenderer(System.out).header().rows(getExhibitions()).flush();
+    }
+
+    @Override
+    public int displayExhibitions(int offset, int limit) {
+        List<Exhibition> all = getExhibitions();
+        int from = Math.max(0, Math.min(offset, all.size()));
+        int to = (int) Math.min((long) from + Math.max(limit, 0), all.size());
+        new ExhibitionTableRenderer(System.out).header().rows(all.subList(from, to)).flush();
+        return to - from;
+    }
+
+    @Override
+    public List<Exhibition> getSortedPage(String parameter, Exhibition after, int limit) {
+        if (sortComparator(parameter) == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Exhibition> page = new ArrayList<>();
+        int partitions = Math.max(1, shards.size());
+        Iterator<Exhibition> merged = mergeSorted(parameter, after, (limit + partitions - 1) / partitions);
+        while (page.size() < limit && merged.hasNext()) {
+            page.add(merged.next());
+        }
+        return page;
+    }
+
+    @Override
+    public void sortExhibitionsByParameter(String parameter) {
+        if (sortComparator(parameter) == null) {
+            System.out.println("Невідомий параметр для сортування.");
+            return;
+        }
+        ExhibitionTableRenderer renderer = new ExhibitionTableRenderer(System.out).header();
+        for (Iterator<Exhibition> merged = mergeSorted(parameter, null, Main.PAGE_SIZE); merged.hasNext(); ) {
+            renderer.row(merged.next());
+        }
+        renderer.flush();
+    }
+
+    // k-шляхове злиття: кожна партиція віддає рядки сторінками по batch і довантажує наступну, лише коли її рядки вибрано.
+    private Iterator<Exhibition> mergeSorted(String parameter, Exhibition after, int batch) {
+        Comparator<Exhibition> order = sortComparator(parameter);
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(Math.max(1, shards.size()),
+                (left, right) -> order.compare(left.peek(), right.peek()));
+        heads.addAll(shards.values().parallelStream()
+                .map(shard -> new ShardCursor(shard, parameter, after, batch))
+                .filter(cursor -> cursor.peek() != null)
+                .collect(Collectors.toList()));
+        return new Iterator<Exhibition>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Exhibition next() {
+                ShardCursor cursor = heads.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                Exhibition row = cursor.next();
+                if (cursor.peek() != null) {
+                    heads.add(cursor);
+                }
+                return row;
+            }
+        };
+    }
+
+    private static final class ShardCursor {
+        private final ConcurrentExhibitionDatabase shard;
+        private final String parameter;
+        private final int batch;
+        private List<Exhibition> page = Collections.emptyList();
+        private int position;
+        private Exhibition last;
+        private boolean exhausted;
+
+        ShardCursor(ConcurrentExhibitionDatabase shard, String parameter, Exhibition after, int batch) {
+            this.shard = shard;
+            this.parameter = parameter;
+            this.batch = batch;
+            this.last = after;
+        }
+
+        Exhibition peek() {
+            if (position == page.size() && !exhausted) {
+                page = shard.getSortedPage(parameter, last, batch);
+                position = 0;
+                exhausted = page.size() < batch;
+            }
+            return position < page.size() ? page.get(position) : null;
+        }
+
+        Exhibition next() {
+            Exhibition row = peek();
+            position++;
+            last = row;
+            return row;
+        }
+    }
+
+    @Override
+    public long getTotalVisitors() {
+        return shards.values().parallelStream().mapToLong(ExhibitionDatabase::getTotalVisitors).sum();
+    }
+
+    @Override
+    public long sumVisitors(String day, String artistLastName) {
+        return partitionsFor(day, artistLastName).parallelStream()
+                .mapToLong(shard -> shard.sumVisitors(day, artistLastName)).sum();
+    }
+
+    @Override
+    public List<Exhibition> select(ExhibitionQuery query) {
+        return partitionsFor(query.getDay(), query.getArtistLastName()).parallelStream()
+                .flatMap(shard -> shard.select(query).stream())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Long> groupVisitors(ExhibitionQuery query, String groupBy) {
+        Map<String, Long> result = new TreeMap<>();
+        partitionsFor(query.getDay(), query.getArtistLastName()).parallelStream()
+                .map(shard -> shard.groupVisitors(query, groupBy))
+                .collect(Collectors.toList())
+                .forEach(groups -> groups.forEach((key, value) -> result.merge(key, value, Long::sum)));
+        return result;
+    }
+
+    @Override
+    public List<Exhibition> topByVisitors(ExhibitionQuery query, int limit) {
+        return partitionsFor(query.getDay(), query.getArtistLastName()).parallelStream()
+                .flatMap(shard -> shard.topByVisitors(query, limit).stream())
+                .sorted(Comparator.comparingInt(Exhibition::getVisitorsCount).reversed().thenComparing(Exhibition::getName))
+                .limit(Math.max(limit, 0))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Exhibition> findByArtist(String artistLastName) {
+        return partitionsFor(null, artistLastName).parallelStream()
+                .flatMap(shard -> shard.findByArtist(artistLastName).stream())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Long> getVisitorsByDay() {
+        Map<String, Long> totals = new TreeMap<>(ExhibitionDay.TEXT_ORDER);
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            shard.getVisitorsByDay().forEach((day, visitors) -> totals.merge(day, visitors, Long::sum));
+        }
+        return totals;
+    }
+
+    @Override
+    public long[] getVisitorsByWeekday() {
+        long[] totals = new long[7];
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            long[] partition = shard.getVisitorsByWeekday();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += partition[i];
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public long visitorsBetween(LocalDate from, LocalDate to) {
+        return shards.values().parallelStream().mapToLong(shard -> shard.visitorsBetween(from, to)).sum();
+    }
+
+    @Override
+    public Map<LocalDate, Long> getVisitorsByWeek(LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> weeks = new TreeMap<>();
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            shard.getVisitorsByWeek(from, to).forEach((week, visitors) -> weeks.merge(week, visitors, Long::sum));
+        }
+        return weeks;
+    }
+
+    @Override
+    public void totalVisitors() {
+        System.out.println("Сумарна кількість відвідувачів: " + getTotalVisitors());
+        for (Map.Entry<String, Long> day : getVisitorsByDay().entrySet()) {
+            System.out.println("  " + day.getKey() + ": " + day.getValue());
+        }
+    }
+
+    @Override
+    public void dayWithLeastVisitors() {
+        Map<String, Long> totals = getVisitorsByDay();
+        if (totals.isEmpty()) {
+            System.out.println("Список виставок порожній.");
+            return;
+        }
+        Map.Entry<String, Long> quietest = Collections.min(totals.entrySet(), Map.Entry.comparingByValue());
+        Exhibition min = getSortedPage("кількість відвідувачів", null, 1).get(0);
+        System.out.println("День з найменшою кількістю відвідувачів: " + quietest.getKey() + " (" + quietest.getValue() + ")");
+        System.out.println("Виставка з найменшою кількістю відвідувачів: " + min.getName() + " (" + min.getVisitorsCount() + ")");
+    }
+
+    @Override
+    public List<Exhibition> findByComments(String query) {
+        return shards.values().parallelStream()
+                .flatMap(shard -> shard.findByComments(query).stream())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void searchCommentsByWord(String word) {
+        System.out.println("Список коментарів, що містять слово \"" + word + "\":");
+        for (Exhibition exhibition : findByComments(word)) {
+            System.out.println(exhibition.getComments());
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ConcurrentExhibitionDatabase shard : shards.values()) {
+            shard.close();
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,68 @@
+package lab7;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Групове збереження: один фоновий запис знімка на кілька змін.
+class SnapshotFlusher implements Closeable {
+    static final long DEFAULT_INTERVAL_MS = 200;
+    static final int DEFAULT_MAX_PENDING = 1_000;
+
+    private final ExhibitionDatabase database;
+    private final int maxPending;
+    private final ScheduledExecutorService background;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    SnapshotFlusher(ExhibitionDatabase database, long intervalMillis, int maxPending) {
+        this.database = database;
+        this.maxPending = maxPending;
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exhibition-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        background.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void markDirty() {
+        if (pending.incrementAndGet() >= maxPending && flushQueued.compareAndSet(false, true)) {
+            background.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushQueued.set(false);
+        List<Exhibition> rows;
+        int written;
+        synchronized (database) {
+            written = pending.getAndSet(0);
+            if (written == 0) {
+                return;
+            }
+            rows = database.getExhibitions();
+        }
+        try {
+            database.persistSnapshot(rows);
+        } catch (IOException e) {
+            pending.addAndGet(written);
+            System.err.println("Помилка фонового збереження: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
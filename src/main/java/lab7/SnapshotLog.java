@@ -0,0 +1,97 @@
+package lab7;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+// Версії каталогу для знімків.
+class SnapshotLog {
+    private static final class Change {
+        final long version;
+        final String name;
+        final Exhibition after;
+
+        Change(long version, String name, Exhibition after) {
+            this.version = version;
+            this.name = name;
+            this.after = after;
+        }
+    }
+
+    private long version;
+    private CatalogSnapshot current;
+    private final NavigableMap<Long, Integer> pins = new TreeMap<>();
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+
+    void record(String name, Exhibition after) {
+        version++;
+        if (!pins.isEmpty()) {
+            changes.addLast(new Change(version, name, after));
+        }
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    CatalogSnapshot snapshot(Supplier<List<Exhibition>> rows) {
+        if (current == null || current.getVersion() != version) {
+            current = new CatalogSnapshot(version, rows.get());
+        }
+        return current;
+    }
+
+    CatalogSnapshot pin(Supplier<List<Exhibition>> rows) {
+        CatalogSnapshot snapshot = snapshot(rows);
+        pins.merge(snapshot.getVersion(), 1, Integer::sum);
+        return snapshot;
+    }
+
+    void release(CatalogSnapshot snapshot) {
+        Integer count = pins.get(snapshot.getVersion());
+        if (count == null) {
+            return;
+        }
+        if (count == 1) {
+            pins.remove(snapshot.getVersion());
+        } else {
+            pins.put(snapshot.getVersion(), count - 1);
+        }
+        long oldest = pins.isEmpty() ? Long.MAX_VALUE : pins.firstKey();
+        while (!changes.isEmpty() && changes.peekFirst().version <= oldest) {
+            changes.removeFirst();
+        }
+    }
+
+    CatalogDiff diff(long from, long to) {
+        if (from > to || to > version) {
+            throw new IllegalArgumentException("Невірний діапазон версій: " + from + ".." + to);
+        }
+        if (from < to && (pins.isEmpty() || pins.firstKey() > from)) {
+            throw new IllegalStateException("Версія " + from + " не закріплена, зміни від неї не збережено");
+        }
+        Map<String, Change> latest = new LinkedHashMap<>();
+        for (Change change : changes) {
+            if (change.version > from && change.version <= to) {
+                String key = ExhibitionDatabase.nameKey(change.name);
+                latest.remove(key);
+                latest.put(key, change);
+            }
+        }
+        List<Exhibition> upserted = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (Change change : latest.values()) {
+            if (change.after == null) {
+                deleted.add(change.name);
+            } else {
+                upserted.add(change.after);
+            }
+        }
+        return new CatalogDiff(from, to, upserted, deleted);
+    }
+}
@@ -0,0 +1,16 @@
+package lab7;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.Collection;
+
+// Сховище бази: звідки завантажуються записи і куди пишеться повний знімок.
+public interface StorageEngine {
+    String getName();
+
+    Path getFile();
+
+    int load(ExhibitionCsv.RowHandler handler) throws IOException;
+
+    void save(Collection<Exhibition> rows) throws IOException;
+}
@@ -0,0 +1,86 @@
+package lab7;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Агрегати відвідуваності, що оновлюються при кожній зміні.
+// Дні групуються за нормалізованим ExhibitionDay, підписом лишається перше написання дня.
+class VisitorAggregates {
+    private static final class DayTotal {
+        final ExhibitionDay label;
+        long visitors;
+        int count;
+
+        DayTotal(ExhibitionDay label) {
+            this.label = label;
+        }
+    }
+
+    private long total;
+    private final Map<ExhibitionDay, DayTotal> dayTotals = new HashMap<>();
+    private final NavigableMap<Long, Set<ExhibitionDay>> daysByTotal = new TreeMap<>();
+    private final CalendarRollup calendar = new CalendarRollup();
+
+    public void add(Exhibition exhibition) {
+        calendar.add(exhibition);
+        total += exhibition.getVisitorsCount();
+        changeDayTotal(exhibition.getParsedDay(), exhibition.getVisitorsCount(), 1);
+    }
+
+    public void remove(Exhibition exhibition) {
+        calendar.remove(exhibition);
+        total -= exhibition.getVisitorsCount();
+        changeDayTotal(exhibition.getParsedDay(), -exhibition.getVisitorsCount(), -1);
+    }
+
+    private void changeDayTotal(ExhibitionDay day, long delta, int countDelta) {
+        DayTotal dayTotal = dayTotals.get(day);
+        if (dayTotal == null) {
+            dayTotal = new DayTotal(day);
+            dayTotals.put(day, dayTotal);
+        } else {
+            Set<ExhibitionDay> days = daysByTotal.get(dayTotal.visitors);
+            days.remove(dayTotal.label);
+            if (days.isEmpty()) {
+                daysByTotal.remove(dayTotal.visitors);
+            }
+        }
+        dayTotal.visitors += delta;
+        dayTotal.count += countDelta;
+        if (dayTotal.count > 0) {
+            daysByTotal.computeIfAbsent(dayTotal.visitors, key -> new LinkedHashSet<>()).add(dayTotal.label);
+        } else {
+            dayTotals.remove(day);
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map.Entry<String, Long> getQuietestDay() {
+        Map.Entry<Long, Set<ExhibitionDay>> first = daysByTotal.firstEntry();
+        return first == null ? null : Map.entry(first.getValue().iterator().next().getText(), first.getKey());
+    }
+
+    public long getDayTotal(String day) {
+        DayTotal dayTotal = dayTotals.get(ExhibitionDay.of(day));
+        return dayTotal == null ? 0 : dayTotal.visitors;
+    }
+
+    public Map<String, Long> getDayTotals() {
+        Map<String, Long> totals = new TreeMap<>(ExhibitionDay.TEXT_ORDER);
+        for (DayTotal dayTotal : dayTotals.values()) {
+            totals.put(dayTotal.label.getText(), dayTotal.visitors);
+        }
+        return totals;
+    }
+
+    public CalendarRollup getCalendar() {
+        return calendar;
+    }
+}
@@ -0,0 +1,52 @@
+package lab7.variant2;
+
+class Exhibition extends ExhibitionRecord {
+    private String name;
+    private String artistLastName;
+    private String day;
+    private int visitorsCount;
+    private String comments;
+
+    public Exhibition(String name, String artistLastName, String day, int visitorsCount, String comments) {
+        this.name = name;
+        this.artistLastName = artistLastName;
+        this.day = day;
+        this.visitorsCount = visitorsCount;
+        this.comments = comments;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getArtistLastName() {
+        return artistLastName;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public int getVisitorsCount() {
+        return visitorsCount;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %-15s %-10s %-10d %-20s", name, artistLastName, day, visitorsCount, comments);
+    }
+
+    public static String getTableHeader() {
+        return String.format("%-20s %-15s %-10s %-10s %-20s", "Назва", "Прізвище художника", "День", "Кількість відвідувачів", "Коментарі");
+    }
+
+    @Override
+    public void displayAdditionalInfo() {
+        System.out.println("Сумарна кількість відвідувачів: " + getVisitorsCount());
+        System.out.println("День з найменшою кількістю відвідувачів: " + getDay());
+    }
+}
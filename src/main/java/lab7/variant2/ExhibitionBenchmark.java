@@ -0,0 +1,90 @@
+package lab7.variant2;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+// Вбудований бенчмарк гарячих шляхів ExhibitionDatabase на синтетичних даних (--bench[=розміри]).
+// Сортування й підсумки в цьому варіанті відсутні, тому їх немає і в таблиці.
+class ExhibitionBenchmark {
+    private static final String[] DAYS = {"Понеділок", "Вівторок", "Середа", "Четвер", "П'ятниця", "Субота", "Неділя"};
+
+    public static void run(int[] sizes) throws IOException {
+        System.out.printf("%-28s %10s %12s %14s%n", "Операція", "Записів", "Повторів", "мкс/операцію");
+        for (int size : sizes) {
+            Path file = Files.createTempFile("exhibitions-bench", ".txt");
+            try {
+                writeSynthetic(file, size, 42);
+                runSize(file, size);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void writeSynthetic(Path file, int count, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            for (int i = 0; i < count; i++) {
+                StringBuilder comments = new StringBuilder();
+                int words = 3 + random.nextInt(6);
+                for (int w = 0; w < words; w++) {
+                    if (w > 0) {
+                        comments.append(' ');
+                    }
+                    comments.append("слово").append(random.nextInt(2000));
+                }
+                writer.println("Виставка-" + i + ",Художник" + random.nextInt(1000) + "," + DAYS[random.nextInt(DAYS.length)]
+                        + "," + random.nextInt(10_000) + "," + comments);
+            }
+        }
+    }
+
+    private static void runSize(Path file, int size) {
+        int heavy = size >= 1_000_000 ? 2 : size >= 100_000 ? 5 : 50;
+        ExhibitionDatabase[] loaded = new ExhibitionDatabase[1];
+        measure("loadFromFile", size, heavy, i -> {
+            loaded[0] = new ExhibitionDatabase(file.toString());
+            loaded[0].loadFromFile();
+        });
+        ExhibitionDatabase database = loaded[0];
+        measure("saveToFile", size, heavy, i -> database.saveToFile());
+
+        Random random = new Random(7);
+        int lookups = size >= 1_000_000 ? 20 : size >= 100_000 ? 200 : 10_000;
+        String[] names = new String[lookups];
+        String[] words = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            names[i] = "виставка-" + random.nextInt(size);
+            words[i] = "слово" + random.nextInt(2000);
+        }
+        measure("searchExhibitionByName", size, lookups, i -> database.searchExhibitionByName(names[i]));
+        measure("searchCommentsByWord", size, lookups, i -> database.searchCommentsByWord(words[i]));
+        int[] sequence = {0};
+        measure("addExhibition", size, heavy, i -> database.addExhibition(
+                new Exhibition("Нова-" + sequence[0]++, "Художник", DAYS[i % DAYS.length], i, "новий коментар")));
+    }
+
+    private static void measure(String operation, int size, int iterations, IntConsumer action) {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long elapsed;
+        try {
+            int warmup = Math.min(iterations, 1_000);
+            for (int i = 0; i < warmup; i++) {
+                action.accept(i);
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                action.accept(i);
+            }
+            elapsed = System.nanoTime() - started;
+        } finally {
+            System.setOut(console);
+        }
+        System.out.printf("%-28s %10d %12d %14.3f%n", operation, size, iterations, elapsed / 1e3 / iterations);
+    }
+}
@@ -0,0 +1,197 @@
+package lab7.variant2;
+
+import lab7.FileStorageEngine;
+import lab7.StorageEngine;
+
+import java.io.*;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+class ExhibitionDatabase {
+    private final StorageEngine storage;
+    private List<Exhibition> exhibitions;
+    private ExhibitionJournal journal;
+
+    public ExhibitionDatabase() {
+        this("exhibitions.txt");
+    }
+
+    public ExhibitionDatabase(String fileName) {
+        this(new FileStorageEngine(Paths.get(fileName)));
+    }
+
+    public ExhibitionDatabase(StorageEngine storage) {
+        this.storage = storage;
+        exhibitions = new ArrayList<>();
+    }
+
+    public void enableJournal() {
+        if (storage.getFile() == null) {
+            System.out.println("Сховище \"" + storage.getName() + "\" не має файлу, журнал не використовується.");
+            return;
+        }
+        try {
+            journal = new ExhibitionJournal(storage.getFile().resolveSibling(storage.getFile().getFileName() + ".log"), this);
+        } catch (IOException e) {
+            System.err.println("Не вдалося відкрити журнал, використовується повний запис файлу: " + e.getMessage());
+        }
+    }
+
+    public synchronized void addExhibition(Exhibition exhibition) {
+        if (!journalAppend("A", "", exhibition)) {
+            return;
+        }
+        exhibitions.add(exhibition);
+        if (journal == null) {
+            saveToFile();
+        }
+    }
+
+    public synchronized void editExhibition(String name, Exhibition newExhibition) {
+        for (int i = 0; i < exhibitions.size(); i++) {
+            if (exhibitions.get(i).getName().equalsIgnoreCase(name)) {
+                if (!journalAppend("E", name, newExhibition)) {
+                    return;
+                }
+                exhibitions.set(i, newExhibition);
+                if (journal == null) {
+                    saveToFile();
+                }
+                return;
+            }
+        }
+        System.out.println("Виставка з такою назвою не знайдена.");
+    }
+
+    public synchronized void deleteExhibition(String name) {
+        if (exhibitions.stream().noneMatch(exhibition -> exhibition.getName().equalsIgnoreCase(name)) || !journalAppend("D", name, null)) {
+            return;
+        }
+        exhibitions.removeIf(exhibition -> exhibition.getName().equalsIgnoreCase(name));
+        if (journal == null) {
+            saveToFile();
+        }
+    }
+
+    private boolean journalAppend(String operation, String key, Exhibition exhibition) {
+        if (journal == null) {
+            return true;
+        }
+        try {
+            journal.append(operation, key, exhibition);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Помилка запису в журнал, зміну не застосовано: " + e.getMessage());
+            return false;
+        }
+    }
+
+    void applyUpsert(String name, Exhibition exhibition) {
+        for (int i = 0; i < exhibitions.size(); i++) {
+            if (exhibitions.get(i).getName().equalsIgnoreCase(name)) {
+                exhibitions.set(i, exhibition);
+                // Нова назва могла бути зайнята іншим рядком знімка: лишається лише один.
+                for (int j = exhibitions.size() - 1; j >= 0; j--) {
+                    if (j != i && exhibitions.get(j).getName().equalsIgnoreCase(exhibition.getName())) {
+                        exhibitions.remove(j);
+                    }
+                }
+                return;
+            }
+        }
+        for (int i = 0; i < exhibitions.size(); i++) {
+            if (exhibitions.get(i).getName().equalsIgnoreCase(exhibition.getName())) {
+                exhibitions.set(i, exhibition);
+                return;
+            }
+        }
+        exhibitions.add(exhibition);
+    }
+
+    void applyDelete(String name) {
+        exhibitions.removeIf(exhibition -> exhibition.getName().equalsIgnoreCase(name));
+    }
+
+    synchronized void compactJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        journal.sync();
+        storage.save(snapshotRows());
+        journal.reset();
+    }
+
+    public synchronized void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Помилка закриття журналу: " + e.getMessage());
+        }
+    }
+
+    public void displayExhibitions() {
+        System.out.println(Exhibition.getTableHeader());
+        System.out.println("-------------------- --------------- ---------- ---------- --------------------");
+        for (Exhibition exhibition : exhibitions) {
+            System.out.println(exhibition);
+        }
+    }
+
+    public Exhibition searchExhibitionByName(String name) {
+        for (Exhibition exhibition : exhibitions) {
+            if (exhibition.getName().equalsIgnoreCase(name)) {
+                return exhibition;
+            }
+        }
+        return null;
+    }
+
+    public void searchCommentsByWord(String word) {
+        System.out.println("Список коментарів, що містять слово \"" + word + "\":");
+        exhibitions.stream()
+                .filter(e -> e.getComments().contains(word))
+                .forEach(e -> System.out.println(e.getComments()));
+    }
+
+    void saveToFile() {
+        try {
+            storage.save(snapshotRows());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Записи сховища — спільний lab7.Exhibition; додаткова поведінка ExhibitionRecord у файл не потрапляє.
+    private List<lab7.Exhibition> snapshotRows() {
+        List<lab7.Exhibition> rows = new ArrayList<>(exhibitions.size());
+        for (Exhibition exhibition : exhibitions) {
+            rows.add(new lab7.Exhibition(exhibition.getName(), exhibition.getArtistLastName(), exhibition.getDay(),
+                    exhibition.getVisitorsCount(), exhibition.getComments()));
+        }
+        return rows;
+    }
+
+    public void loadFromFile() {
+        try {
+            storage.load((name, artistLastName, day, visitorsCount, comments) ->
+                    exhibitions.add(new Exhibition(name, artistLastName, day, visitorsCount, comments)));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        replayJournal();
+    }
+
+    private void replayJournal() {
+        if (journal != null) {
+            try {
+                journal.replay();
+            } catch (IOException e) {
+                System.err.println("Помилка читання журналу: " + e.getMessage());
+            }
+        }
+    }
+}
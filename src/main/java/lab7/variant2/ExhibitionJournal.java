@@ -0,0 +1,237 @@
+package lab7.variant2;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Журнал змін: кожна мутація дописується в кінець файлу замість повного перезапису exhibitions.txt.
+// fsync виконується пакетами, а фоновий потік періодично згортає журнал у знімок.
+class ExhibitionJournal implements Closeable {
+    private static final int SYNC_BATCH = 64;
+    private static final long SYNC_INTERVAL_MS = 200;
+    private static final int COMPACTION_THRESHOLD = 10_000;
+
+    private final Path path;
+    private final ExhibitionDatabase database;
+    private final ScheduledExecutorService background;
+    private FileChannel channel;
+    private int pendingSync;
+    private int entryCount;
+
+    ExhibitionJournal(Path path, ExhibitionDatabase database) throws IOException {
+        this.path = path;
+        this.database = database;
+        this.channel = open(path);
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exhibition-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        background.scheduleWithFixedDelay(this::backgroundTick, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public synchronized void append(String operation, String key, Exhibition exhibition) throws IOException {
+        StringBuilder line = new StringBuilder();
+        line.append(operation).append('\t').append(escape(key));
+        if (exhibition != null) {
+            line.append('\t').append(escape(exhibition.getName()))
+                    .append('\t').append(escape(exhibition.getArtistLastName()))
+                    .append('\t').append(escape(exhibition.getDay()))
+                    .append('\t').append(exhibition.getVisitorsCount())
+                    .append('\t').append(escape(exhibition.getComments()));
+        }
+        line.append('\n');
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(line.toString());
+        long start = channel.size();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (++pendingSync >= SYNC_BATCH) {
+                sync();
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+        entryCount++;
+    }
+
+    public synchronized void sync() throws IOException {
+        if (pendingSync > 0) {
+            channel.force(false);
+            pendingSync = 0;
+        }
+    }
+
+    public synchronized int getEntryCount() {
+        return entryCount;
+    }
+
+    // Викликається під замком бази після того, як знімок уже записано.
+    synchronized void reset() throws IOException {
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel.force(true);
+        channel.close();
+        channel = open(path);
+        pendingSync = 0;
+        entryCount = 0;
+    }
+
+    // Кінцевий стан однієї назви після згортання журналу: рядок (null — видалено) і назва,
+    // під якою цей рядок був у знімку до першого перейменування.
+    private static final class ReplayState {
+        final String origin;
+        final Exhibition row;
+
+        ReplayState(String origin, Exhibition row) {
+            this.origin = origin;
+            this.row = row;
+        }
+    }
+
+    // Повтор ідемпотентний: якщо збій стався між записом знімка і очищенням журналу, знімок уже
+    // містить усі операції. Тому записи спершу згортаються до кінцевого стану кожної назви, а тоді
+    // застосовуються: спершу рядки, потім видалення. Ланцюжок перейменувань A -> B -> A дає той самий
+    // результат і поверх старого знімка, і поверх знімка, що вже містить журнал.
+    void replay() throws IOException {
+        int replayed = 0;
+        Map<String, ReplayState> states = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split("\t", -1);
+                try {
+                    Exhibition exhibition = parts.length >= 7
+                            ? new Exhibition(unescape(parts[2]), unescape(parts[3]), unescape(parts[4]),
+                            Integer.parseInt(parts[5]), unescape(parts[6]))
+                            : null;
+                    switch (parts[0]) {
+                        case "A":
+                            states.put(exhibition.getName().toLowerCase(), new ReplayState(exhibition.getName(), exhibition));
+                            break;
+                        case "E": {
+                            String oldName = unescape(parts[1]);
+                            ReplayState previous = states.get(oldName.toLowerCase());
+                            String origin = previous != null ? previous.origin : oldName;
+                            if (!oldName.equalsIgnoreCase(exhibition.getName())) {
+                                states.put(oldName.toLowerCase(), new ReplayState(oldName, null));
+                            }
+                            states.put(exhibition.getName().toLowerCase(), new ReplayState(origin, exhibition));
+                            break;
+                        }
+                        case "D": {
+                            String name = unescape(parts[1]);
+                            states.put(name.toLowerCase(), new ReplayState(name, null));
+                            break;
+                        }
+                        default:
+                            throw new IllegalArgumentException(parts[0]);
+                    }
+                    replayed++;
+                } catch (RuntimeException e) {
+                    System.err.println("Невірний запис журналу: " + line);
+                }
+            }
+        }
+        for (ReplayState state : states.values()) {
+            if (state.row == null) {
+                continue;
+            }
+            // Якщо під початковою назвою тепер живе інший рядок, старий запис заміщати не можна.
+            ReplayState atOrigin = states.get(state.origin.toLowerCase());
+            boolean originTaken = atOrigin != null && atOrigin != state && atOrigin.row != null;
+            database.applyUpsert(originTaken ? state.row.getName() : state.origin, state.row);
+        }
+        for (ReplayState state : states.values()) {
+            if (state.row == null) {
+                database.applyDelete(state.origin);
+            }
+        }
+        synchronized (this) {
+            entryCount = replayed;
+        }
+    }
+
+    private void backgroundTick() {
+        try {
+            sync();
+            if (getEntryCount() >= COMPACTION_THRESHOLD) {
+                database.compactJournal();
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка обслуговування журналу: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        synchronized (this) {
+            sync();
+            channel.close();
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,5 @@
+package lab7.variant2;
+
+abstract class ExhibitionRecord {
+    public abstract void displayAdditionalInfo();
+}
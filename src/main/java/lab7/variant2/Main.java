@@ -1,158 +1,8 @@
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.*;
-
-abstract class ExhibitionRecord {
-    public abstract void displayAdditionalInfo();
-}
-
-class Exhibition extends ExhibitionRecord {
-    private String name;
-    private String artistLastName;
-    private String day;
-    private int visitorsCount;
-    private String comments;
-
-    public Exhibition(String name, String artistLastName, String day, int visitorsCount, String comments) {
-        this.name = name;
-        this.artistLastName = artistLastName;
-        this.day = day;
-        this.visitorsCount = visitorsCount;
-        this.comments = comments;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public String getArtistLastName() {
-        return artistLastName;
-    }
-
-    public String getDay() {
-        return day;
-    }
-
-    public int getVisitorsCount() {
-        return visitorsCount;
-    }
-
-    public String getComments() {
-        return comments;
-    }
-
-    @Override
-    public String toString() {
-        return String.format("%-20s %-15s %-10s %-10d %-20s", name, artistLastName, day, visitorsCount, comments);
-    }
-
-    public static String getTableHeader() {
-        return String.format("%-20s %-15s %-10s %-10s %-20s", "Назва", "Прізвище художника", "День", "Кількість відвідувачів", "Коментарі");
-    }
-
-    @Override
-    public void displayAdditionalInfo() {
-        System.out.println("Сумарна кількість відвідувачів: " + getVisitorsCount());
-        System.out.println("День з найменшою кількістю відвідувачів: " + getDay());
-    }
-}
-
-class ExhibitionDatabase {
-    private List<Exhibition> exhibitions;
-
-    public ExhibitionDatabase() {
-        exhibitions = new ArrayList<>();
-    }
-
-    public void addExhibition(Exhibition exhibition) {
-        exhibitions.add(exhibition);
-        saveToFile();
-    }
-
-    public void editExhibition(String name, Exhibition newExhibition) {
-        for (int i = 0; i < exhibitions.size(); i++) {
-            if (exhibitions.get(i).getName().equalsIgnoreCase(name)) {
-                exhibitions.set(i, newExhibition);
-                saveToFile();
-                return;
-            }
-        }
-        System.out.println("Виставка з такою назвою не знайдена.");
-    }
+package lab7.variant2;
 
-    public void deleteExhibition(String name) {
-        exhibitions.removeIf(exhibition -> exhibition.getName().equalsIgnoreCase(name));
-        saveToFile();
-    }
-
-    public void displayExhibitions() {
-        System.out.println(Exhibition.getTableHeader());
-        System.out.println("-------------------- --------------- ---------- ---------- --------------------");
-        for (Exhibition exhibition : exhibitions) {
-            System.out.println(exhibition);
-        }
-    }
-
-    public Exhibition searchExhibitionByName(String name) {
-        for (Exhibition exhibition : exhibitions) {
-            if (exhibition.getName().equalsIgnoreCase(name)) {
-                return exhibition;
-            }
-        }
-        return null;
-    }
-
-    public void searchCommentsByWord(String word) {
-        System.out.println("Список коментарів, що містять слово \"" + word + "\":");
-        exhibitions.stream()
-                .filter(e -> e.getComments().contains(word))
-                .forEach(e -> System.out.println(e.getComments()));
-    }
-
-    private void saveToFile() {
-        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream("exhibitions.txt"), StandardCharsets.UTF_8))) {
-            for (Exhibition exhibition : exhibitions) {
-                writer.println(exhibition.getName() + "," + exhibition.getArtistLastName() + "," +
-                        exhibition.getDay() + "," + exhibition.getVisitorsCount() + "," + exhibition.getComments());
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    public void loadFromFile() {
-        File file = new File("exhibitions.txt");
-        if (!file.exists()) {
-            System.out.println("Файл exhibitions.txt не знайдено. Створюється новий файл.");
-            try {
-                file.createNewFile();
-            } catch (IOException e) {
-                System.err.println("Помилка при створенні файлу: " + e.getMessage());
-            }
-            return;
-        }
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length < 5) {
-                    System.err.println("Невірний формат рядка: " + line);
-                    continue;
-                }
-                String name = parts[0];
-                String artistLastName = parts[1];
-                String day = parts[2];
-                int visitorsCount = Integer.parseInt(parts[3]);
-                String comments = parts[4];
-                Exhibition exhibition = new Exhibition(name, artistLastName, day, visitorsCount, comments);
-                exhibitions.add(exhibition);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-}
+import java.io.*;
+import java.util.Arrays;
+import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) {
@@ -162,8 +12,23 @@ public class Main {
             e.printStackTrace();
         }
 
+        for (String option : args) {
+            if (option.equals("--bench") || option.startsWith("--bench=")) {
+                String sizes = option.equals("--bench") ? "1000,100000,1000000" : option.substring("--bench=".length());
+                try {
+                    ExhibitionBenchmark.run(Arrays.stream(sizes.split(",")).mapToInt(Integer::parseInt).toArray());
+                } catch (IOException e) {
+                    System.err.println("Помилка бенчмарку: " + e.getMessage());
+                }
+                return;
+            }
+        }
+
         Scanner scanner = new Scanner(System.in, "UTF-8");
         ExhibitionDatabase exhibitionDatabase = new ExhibitionDatabase();
+        if (Arrays.asList(args).contains("--journal")) {
+            exhibitionDatabase.enableJournal();
+        }
         exhibitionDatabase.loadFromFile();
 
         while (true) {
@@ -198,6 +63,7 @@ public class Main {
                     searchComments(scanner, exhibitionDatabase);
                     break;
                 case "q":
+                    exhibitionDatabase.close();
                     System.out.println("Завершення програми.");
                     return;
                 default:
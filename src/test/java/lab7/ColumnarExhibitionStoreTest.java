@@ -0,0 +1,73 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarExhibitionStoreTest {
+    private static final String[] DAYS = {"Понеділок", "Вівторок", "Середа", "Четвер", "П'ятниця"};
+
+    @Test
+    void releasedDictionaryCodesAreReused() {
+        ColumnarExhibitionStore columns = new ColumnarExhibitionStore();
+        for (int i = 0; i < 1000; i++) {
+            Exhibition exhibition = new Exhibition("Виставка " + i, "Художник " + i, "2024-01-01", i, "");
+            columns.add(exhibition);
+            columns.remove(exhibition);
+        }
+        assertEquals(0, columns.size());
+        assertEquals(1, columns.artistCodeLimit());
+        assertEquals(-1, columns.artistCodeOf("Художник 999"));
+    }
+
+    @Test
+    void scansMatchRowsAfterMixedChanges() {
+        ExhibitionDatabase database = new ExhibitionDatabase(new MemoryStorageEngine());
+        Random random = new Random(11);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int action = random.nextInt(10);
+            if (action < 6 || names.isEmpty()) {
+                String name = "Виставка " + i;
+                if (database.addExhibition(exhibition(name, random))) {
+                    names.add(name);
+                }
+            } else if (action < 8) {
+                String name = names.get(random.nextInt(names.size()));
+                database.editExhibition(name, exhibition(name, random));
+            } else {
+                database.deleteExhibition(names.remove(random.nextInt(names.size())));
+            }
+        }
+        List<Exhibition> rows = new ArrayList<>(database.getExhibitions());
+        ExhibitionQuery query = new ExhibitionQuery().day("Середа").visitorsBetween(100, 900);
+
+        assertEquals(names(rows.stream().filter(query::matches).collect(Collectors.toList())), names(database.select(query)));
+        assertEquals(rows.stream().filter(query::matches).collect(Collectors.groupingBy(Exhibition::getArtistLastName,
+                TreeMap::new, Collectors.summingLong(Exhibition::getVisitorsCount))), database.groupVisitors(query, "художник"));
+        assertEquals(rows.stream().filter(e -> e.getArtistLastName().equals("Шевченко") && e.getDay().equals("Вівторок"))
+                .mapToLong(Exhibition::getVisitorsCount).sum(), database.sumVisitors("Вівторок", "Шевченко"));
+        assertEquals(names(rows.stream().filter(e -> e.getArtistLastName().equals("Мурашко")).collect(Collectors.toList())),
+                names(database.findByArtist("Мурашко")));
+        Map<String, Long> byDay = database.groupVisitors(new ExhibitionQuery().sequential(), "день");
+        assertEquals(database.getVisitorsByDay(), byDay);
+    }
+
+    private static Exhibition exhibition(String name, Random random) {
+        String[] artists = {"Шевченко", "Мурашко", "Приймаченко", "Білокур"};
+        return new Exhibition(name, artists[random.nextInt(artists.length)], DAYS[random.nextInt(DAYS.length)],
+                random.nextInt(1000), "коментар " + random.nextInt(50));
+    }
+
+    private static List<String> names(List<Exhibition> rows) {
+        return rows.stream().map(Exhibition::getName).sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    }
+}
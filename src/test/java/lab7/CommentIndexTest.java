@@ -0,0 +1,66 @@
+package lab7;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommentIndexTest {
+    private final Exhibition friday = new Exhibition("П'ятниця", "Мурашко", "П'ятниця", 1, "Відкрито в п'ятниця ввечері");
+    private final Exhibition mint = new Exhibition("М'ята", "Шевченко", "Субота", 2, "запах м’яти і мʼяти");
+    private final Exhibition space = new Exhibition("Простір", "Ivanenko", "Неділя", 3, "Новий арт-простір, кома");
+    private final CommentIndex index = new CommentIndex();
+
+    @BeforeEach
+    void fill() {
+        for (Exhibition exhibition : rows()) {
+            index.add(exhibition);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "п'ятниця; П'ятниця",
+            "П’ЯТНИЦЯ; П'ятниця",
+            "п'ят*; П'ятниця",
+            "ятниця; ''",
+            "м'яти; М'ята",
+            "арт-простір; Простір",
+            "простір; Простір",
+            "арт-простір, | ввечері; П'ятниця,Простір",
+    })
+    void indexAndScanAgree(String query, String expectedNames) {
+        Set<String> expected = new HashSet<>();
+        for (String name : expectedNames.split(",")) {
+            if (!name.isEmpty()) {
+                expected.add(name);
+            }
+        }
+        assertEquals(expected, names(index.query(query)));
+        Set<String> matched = new HashSet<>();
+        for (Exhibition exhibition : rows()) {
+            if (CommentIndex.matches(query, CommentIndex.tokenize(exhibition.getComments()))) {
+                matched.add(exhibition.getName());
+            }
+        }
+        assertEquals(expected, matched);
+    }
+
+    private List<Exhibition> rows() {
+        return Arrays.asList(friday, mint, space);
+    }
+
+    private static Set<String> names(List<Exhibition> exhibitions) {
+        Set<String> names = new HashSet<>();
+        for (Exhibition exhibition : exhibitions) {
+            names.add(exhibition.getName());
+        }
+        return names;
+    }
+}
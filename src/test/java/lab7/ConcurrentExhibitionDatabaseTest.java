@@ -0,0 +1,146 @@
+package lab7;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentExhibitionDatabaseTest {
+    private static final int KEYS = 500;
+
+    private PrintStream console;
+
+    @BeforeEach
+    void silence() {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @AfterEach
+    void restore() {
+        System.setOut(console);
+    }
+
+    @Test
+    @Timeout(30)
+    void readersSeeConsistentRowsWhileWriterProgresses() throws InterruptedException {
+        ConcurrentExhibitionDatabase database = new ConcurrentExhibitionDatabase(new MemoryStorageEngine());
+        for (int i = 0; i < KEYS; i += 2) {
+            database.addExhibition(record(i, 0));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong writes = new AtomicLong();
+        AtomicLong violations = new AtomicLong();
+        AtomicInteger activeReaders = new AtomicInteger();
+        AtomicInteger maxActiveReaders = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            threads.add(new Thread(() -> {
+                Random random = new Random();
+                while (running.get()) {
+                    int key = random.nextInt(KEYS);
+                    Exhibition found = database.searchExhibitionByName("S" + key);
+                    if (found != null && !isConsistent(found)) {
+                        violations.incrementAndGet();
+                    }
+                    for (Exhibition match : database.findByComments("c" + key)) {
+                        if (!isConsistent(match) || !match.getName().equals("s" + key)) {
+                            violations.incrementAndGet();
+                        }
+                    }
+                    int size = database.size();
+                    if (size < 0 || size > KEYS) {
+                        violations.incrementAndGet();
+                    }
+                    if (random.nextInt(64) == 0) {
+                        database.read(() -> {
+                            maxActiveReaders.accumulateAndGet(activeReaders.incrementAndGet(), Math::max);
+                            LockSupport.parkNanos(200_000);
+                            return activeReaders.decrementAndGet();
+                        });
+                    }
+                }
+            }, "stress-reader-" + r));
+        }
+        threads.add(new Thread(() -> {
+            Random random = new Random();
+            int version = 0;
+            while (running.get()) {
+                int key = random.nextInt(KEYS);
+                String name = "s" + key;
+                version++;
+                if (database.searchExhibitionByName(name) == null) {
+                    database.addExhibition(record(key, version));
+                } else if (random.nextBoolean()) {
+                    database.editExhibition(name, record(key, version));
+                } else {
+                    database.deleteExhibition(name);
+                }
+                writes.incrementAndGet();
+            }
+        }, "stress-writer"));
+
+        threads.forEach(Thread::start);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, violations.get());
+        assertTrue(writes.get() > 100, "записів: " + writes.get());
+        assertTrue(maxActiveReaders.get() > 1, "одночасних читачів: " + maxActiveReaders.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void nestedReadDoesNotWaitForQueuedWriter() throws InterruptedException {
+        ConcurrentExhibitionDatabase database = new ConcurrentExhibitionDatabase(new MemoryStorageEngine());
+        CountDownLatch outerRead = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            try {
+                outerRead.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            database.addExhibition(record(1, 1));
+        });
+        writer.start();
+        int size = database.read(() -> {
+            outerRead.countDown();
+            while (writer.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            return database.size();
+        });
+        writer.join();
+        assertEquals(0, size);
+        assertEquals(1, database.size());
+    }
+
+    private static Exhibition record(int key, int version) {
+        return new Exhibition("s" + key, "a" + key, "day" + (version % 7), key, "c" + key + " v" + version);
+    }
+
+    private static boolean isConsistent(Exhibition exhibition) {
+        String key = exhibition.getName().substring(1);
+        return exhibition.getArtistLastName().equals("a" + key)
+                && String.valueOf(exhibition.getVisitorsCount()).equals(key)
+                && exhibition.getComments().startsWith("c" + key + " ");
+    }
+}
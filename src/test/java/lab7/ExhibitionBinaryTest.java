@@ -0,0 +1,70 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExhibitionBinaryTest {
+    private static final ExhibitionCsv.RowHandler IGNORE = (name, artistLastName, day, visitorsCount, comments) -> { };
+
+    @TempDir
+    Path directory;
+
+    private Path write() throws IOException {
+        Path file = directory.resolve("exhibitions.bin");
+        List<Exhibition> rows = Arrays.asList(
+                new Exhibition("Пейзажі", "Шевченко", "Понеділок", 120, "тихо"),
+                new Exhibition("Графіка", "Нарбут", "Середа", 7, ""));
+        ExhibitionBinary.write(file, rows);
+        assertEquals(rows.size(), ExhibitionBinary.read(file, IGNORE));
+        return file;
+    }
+
+    // Змінює тіло файлу і перераховує контрольну суму, щоб спрацювала саме перевірка структури.
+    private static void rewrite(Path file, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        Files.write(file, ByteBuffer.allocate(body.length + 8).put(body).putLong(crc.getValue()).array());
+    }
+
+    private static byte[] body(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        return Arrays.copyOf(bytes, bytes.length - 8);
+    }
+
+    @Test
+    void negativeCountIsRejected() throws IOException {
+        Path file = write();
+        byte[] body = body(file);
+        ByteBuffer.wrap(body).putInt(6, -1);
+        rewrite(file, body);
+        assertThrows(IOException.class, () -> ExhibitionBinary.read(file, IGNORE));
+    }
+
+    @Test
+    void trailingBytesAreRejected() throws IOException {
+        Path file = write();
+        byte[] body = body(file);
+        rewrite(file, Arrays.copyOf(body, body.length + 3));
+        assertThrows(IOException.class, () -> ExhibitionBinary.read(file, IGNORE));
+    }
+
+    @Test
+    void shorterCountLeavesTrailingRecord() throws IOException {
+        Path file = write();
+        byte[] body = body(file);
+        ByteBuffer.wrap(body).putInt(6, 1);
+        rewrite(file, body);
+        assertThrows(IOException.class, () -> ExhibitionBinary.read(file, IGNORE));
+    }
+}
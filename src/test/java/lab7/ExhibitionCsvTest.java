@@ -0,0 +1,59 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExhibitionCsvTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void windowBoundaryInsideQuotedFieldKeepsTheRecord() throws IOException {
+        List<Exhibition> rows = Arrays.asList(
+                new Exhibition("Пейзажі", "Шевченко", "Понеділок", 120, "перший рядок\nдругий рядок\nтретій"),
+                new Exhibition("Лапки \"так\"", "О'Коннор", "П'ятниця", 0, "кома, і\nперенос"),
+                new Exhibition("Графіка", "Нарбут", "Середа", 7, ""),
+                new Exhibition("Портрети", "Мурашко", "Вівторок", 15, "\n\n"));
+        Path file = directory.resolve("exhibitions.txt");
+        ExhibitionCsv.write(file, rows);
+        List<String> expected = lines(rows);
+        long size = Files.size(file);
+
+        for (long window = 128; window <= size; window++) {
+            List<Exhibition> read = new ArrayList<>();
+            int count = ExhibitionCsv.read(file, (name, artistLastName, day, visitorsCount, comments) ->
+                    read.add(new Exhibition(name, artistLastName, day, visitorsCount, comments)), window);
+            assertEquals(rows.size(), count, "вікно " + window);
+            assertEquals(expected, lines(read), "вікно " + window);
+        }
+    }
+
+    @Test
+    void recordLongerThanTheWindowIsReported() throws IOException {
+        Path file = directory.resolve("exhibitions.txt");
+        ExhibitionCsv.write(file, Arrays.asList(
+                new Exhibition("Пейзажі", "Шевченко", "Понеділок", 120, "дуже довгий коментар, що не влазить у вікно"),
+                new Exhibition("Графіка", "Нарбут", "Середа", 7, "")));
+        assertThrows(IOException.class, () -> ExhibitionCsv.read(file, (name, artistLastName, day, visitorsCount, comments) -> { }, 16));
+    }
+
+    private static List<String> lines(List<Exhibition> rows) {
+        List<String> lines = new ArrayList<>();
+        for (Exhibition row : rows) {
+            StringBuilder line = new StringBuilder();
+            ExhibitionCsv.appendRow(line, row);
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+}
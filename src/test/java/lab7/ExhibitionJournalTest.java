@@ -0,0 +1,49 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExhibitionJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void journalLivesNextToTheDataFile() {
+        Path file = directory.resolve("catalogue.txt");
+        ExhibitionDatabase database = new ExhibitionDatabase(file.toString());
+        database.enableJournal();
+        database.loadFromFile();
+        assertTrue(database.addExhibition(new Exhibition("Пейзажі", "Шевченко", "Понеділок", 10, "")));
+        database.close();
+
+        assertTrue(Files.exists(directory.resolve("catalogue.txt.log")));
+        ExhibitionDatabase reopened = new ExhibitionDatabase(file.toString());
+        reopened.enableJournal();
+        reopened.loadFromFile();
+        assertNotNull(reopened.searchExhibitionByName("Пейзажі"));
+        reopened.close();
+    }
+
+    @Test
+    void failedAppendLeavesTheCatalogueUnchanged() {
+        ExhibitionDatabase database = new ExhibitionDatabase(directory.resolve("exhibitions.txt").toString());
+        database.enableJournal();
+        database.loadFromFile();
+        database.addExhibition(new Exhibition("Пейзажі", "Шевченко", "Понеділок", 10, ""));
+        database.close();
+
+        assertFalse(database.addExhibition(new Exhibition("Портрети", "Мурашко", "Вівторок", 20, "")));
+        assertFalse(database.editExhibition("Пейзажі", new Exhibition("Пейзажі", "Шевченко", "Середа", 11, "")));
+        assertFalse(database.deleteExhibition("Пейзажі"));
+        assertEquals(1, database.size());
+        assertEquals("Понеділок", database.searchExhibitionByName("Пейзажі").getDay());
+    }
+}
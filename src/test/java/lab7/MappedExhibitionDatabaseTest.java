@@ -0,0 +1,112 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedExhibitionDatabaseTest {
+    @TempDir
+    Path directory;
+
+    private MappedExhibitionDatabase open() {
+        MappedExhibitionDatabase database = new MappedExhibitionDatabase(directory.resolve("exhibitions.mmap").toString());
+        database.loadFromFile();
+        return database;
+    }
+
+    @Test
+    void returnedRowsAreDetachedCopies() {
+        MappedExhibitionDatabase database = open();
+        database.addExhibition(new Exhibition("Пейзажі", "Шевченко", "Понеділок", 10, "тихо"));
+        Exhibition found = database.searchExhibitionByName("Пейзажі");
+        found.setVisitorsCount(99);
+        List<Exhibition> byComments = database.findByComments("тихо");
+        byComments.get(0).setComments("змінено");
+
+        assertEquals(10, database.searchExhibitionByName("Пейзажі").getVisitorsCount());
+        assertEquals("тихо", database.findByComments("тихо").get(0).getComments());
+        database.editExhibition("Пейзажі", new Exhibition("Пейзажі", "Шевченко", "Понеділок", 11, "гучно"));
+        assertEquals("змінено", byComments.get(0).getComments());
+        assertTrue(database.findByComments("тихо").isEmpty());
+        database.close();
+    }
+
+    @Test
+    void sortedPagesFollowChanges() {
+        MappedExhibitionDatabase database = open();
+        assertTrue(database.getSortedPage("кількість відвідувачів", null, 10).isEmpty());
+        Random random = new Random(12);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int action = random.nextInt(10);
+            if (action < 6 || names.isEmpty()) {
+                String name = "Виставка " + i;
+                database.addExhibition(new Exhibition(name, "Художник", "Середа", random.nextInt(100), ""));
+                names.add(name);
+            } else if (action < 8) {
+                String name = names.remove(random.nextInt(names.size()));
+                String renamed = name + "'";
+                database.editExhibition(name, new Exhibition(renamed, "Художник", "Середа", random.nextInt(100), ""));
+                names.add(renamed);
+            } else {
+                database.deleteExhibition(names.remove(random.nextInt(names.size())));
+            }
+        }
+        Comparator<Exhibition> order = ExhibitionDatabase.sortComparator("кількість відвідувачів");
+        List<String> expected = database.getExhibitions().stream().sorted(order).map(Exhibition::getName).collect(Collectors.toList());
+        List<String> paged = new ArrayList<>();
+        Exhibition after = null;
+        for (List<Exhibition> page; !(page = database.getSortedPage("кількість відвідувачів", after, 20)).isEmpty(); ) {
+            page.forEach(exhibition -> paged.add(exhibition.getName()));
+            after = page.get(page.size() - 1);
+        }
+        assertEquals(expected, paged);
+        database.close();
+    }
+
+    @Test
+    void scansMatchAPlainFilter() {
+        MappedExhibitionDatabase database = open();
+        Random random = new Random(13);
+        String[] artists = {"Шевченко", "Мурашко", "Білокур"};
+        for (int i = 0; i < 3_000; i++) {
+            database.addExhibition(new Exhibition("Виставка " + i, artists[random.nextInt(artists.length)],
+                    random.nextBoolean() ? "Середа" : "Субота", random.nextInt(1000), ""));
+        }
+        for (int i = 0; i < 3_000; i += 3) {
+            database.deleteExhibition("Виставка " + i);
+        }
+        List<Exhibition> rows = database.getExhibitions();
+        ExhibitionQuery query = new ExhibitionQuery().day("Середа").visitorsBetween(200, 800);
+        Comparator<Exhibition> byVisitors = Comparator.comparingInt(Exhibition::getVisitorsCount).reversed().thenComparing(Exhibition::getName);
+
+        assertEquals(rows.stream().filter(query::matches).map(Exhibition::getName).sorted().collect(Collectors.toList()),
+                database.select(query).stream().map(Exhibition::getName).sorted().collect(Collectors.toList()));
+        assertEquals(rows.stream().filter(query::matches).collect(Collectors.groupingBy(Exhibition::getArtistLastName,
+                TreeMap::new, Collectors.summingLong(Exhibition::getVisitorsCount))), database.groupVisitors(query, "художник"));
+        assertEquals(rows.stream().filter(query::matches).sorted(byVisitors).limit(10).map(Exhibition::getName).collect(Collectors.toList()),
+                database.topByVisitors(query, 10).stream().map(Exhibition::getName).collect(Collectors.toList()));
+        database.close();
+    }
+
+    @Test
+    void reloadReplacesTheMapping() {
+        MappedExhibitionDatabase database = open();
+        database.addExhibition(new Exhibition("Пейзажі", "Шевченко", "Понеділок", 10, ""));
+        database.loadFromFile();
+        database.loadFromFile();
+        assertEquals(1, database.size());
+        assertEquals("Шевченко", database.searchExhibitionByName("Пейзажі").getArtistLastName());
+        database.close();
+    }
+}
@@ -0,0 +1,43 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameSearchIndexTest {
+    private static List<String> similar(NameSearchIndex index, String query) {
+        return index.similar(query, NameSearchIndex.defaultDistance(query), NameSearchIndex.EXACT_PREFIX, 5);
+    }
+
+    @Test
+    void typoInTheFirstLetterIsFound() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.add("Ліс");
+        index.add("Пейзажі");
+        index.add("Портрети");
+
+        assertEquals(List.of("Ліс"), similar(index, "Піс"));
+        assertEquals(List.of("Пейзажі"), similar(index, "Бейзажі"));
+    }
+
+    @Test
+    void typoInTheFirstLetterIsFoundThroughGrams() {
+        NameSearchIndex index = new NameSearchIndex();
+        for (int i = 0; i < 5_000; i++) {
+            index.add("Виставка-" + i);
+        }
+        assertTrue(similar(index, "Ииставка-1234").contains("Виставка-1234"));
+    }
+
+    @Test
+    void matchesWithTheExactPrefixStillComeFirst() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.add("Пейзажі");
+        index.add("Бейзажі");
+
+        assertEquals(List.of("Пейзажі"), similar(index, "Пейзажи"));
+    }
+}
@@ -0,0 +1,85 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedExhibitionDatabaseTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void pinnedSnapshotAndDiffSpanShards() {
+        ShardedExhibitionDatabase database = new ShardedExhibitionDatabase(directory.resolve("exhibitions.txt").toString(), true, 1);
+        database.addExhibition(new Exhibition("Пейзажі", "Шевченко", "Понеділок", 10, ""));
+        database.addExhibition(new Exhibition("Портрети", "Мурашко", "Вівторок", 20, ""));
+        long versionBefore = database.getVersion();
+
+        CatalogSnapshot pinned = database.pinSnapshot();
+        assertEquals(versionBefore, pinned.getVersion());
+        database.editExhibition("Пейзажі", new Exhibition("Пейзажі", "Шевченко", "Середа", 11, "перенесено"));
+        database.deleteExhibition("Портрети");
+        database.addExhibition(new Exhibition("Графіка", "Нарбут", "Понеділок", 5, ""));
+
+        assertEquals(Arrays.asList("Пейзажі", "Портрети"), names(pinned.getRows()));
+        CatalogDiff diff = database.diff(pinned.getVersion(), database.getVersion());
+        assertEquals(Arrays.asList("Графіка", "Пейзажі"), names(diff.getUpserted()));
+        assertEquals("Середа", diff.getUpserted().get(0).getDay());
+        assertEquals(Collections.singletonList("Портрети"), diff.getDeleted());
+
+        database.releaseSnapshot(pinned);
+        assertThrows(IllegalStateException.class, () -> database.diff(versionBefore, database.getVersion()));
+        database.close();
+    }
+
+    @Test
+    void versionCountsEveryChangeOnce() {
+        ShardedExhibitionDatabase database = new ShardedExhibitionDatabase(directory.resolve("exhibitions.txt").toString(), false, 4);
+        long start = database.getVersion();
+        database.addExhibition(new Exhibition("А", "Шевченко", "Понеділок", 1, ""));
+        database.addExhibition(new Exhibition("Б", "Мурашко", "Понеділок", 1, ""));
+        database.deleteExhibition("А");
+        assertEquals(start + 3, database.getVersion());
+        assertEquals(database.getVersion(), database.snapshot().getVersion());
+        database.close();
+    }
+
+    @Test
+    void sortedPagesMergeShardsInOrder() {
+        ShardedExhibitionDatabase database = new ShardedExhibitionDatabase(directory.resolve("exhibitions.txt").toString(), false, 5);
+        Random random = new Random(20);
+        List<Exhibition> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rows.add(new Exhibition("Виставка " + i, "Художник " + random.nextInt(40), "Четвер", random.nextInt(50), ""));
+        }
+        database.addAll(rows);
+        for (String parameter : Arrays.asList("назва", "прізвище художника", "кількість відвідувачів")) {
+            List<String> expected = rows.stream().sorted(ExhibitionDatabase.sortComparator(parameter))
+                    .map(Exhibition::getName).collect(Collectors.toList());
+            List<String> paged = new ArrayList<>();
+            Exhibition after = null;
+            for (List<Exhibition> page; !(page = database.getSortedPage(parameter, after, 7)).isEmpty(); ) {
+                assertTrue(page.size() <= 7);
+                page.forEach(exhibition -> paged.add(exhibition.getName()));
+                after = page.get(page.size() - 1);
+            }
+            assertEquals(expected, paged, parameter);
+        }
+        database.close();
+    }
+
+    private static List<String> names(List<Exhibition> rows) {
+        return rows.stream().map(Exhibition::getName).sorted().collect(Collectors.toList());
+    }
+}
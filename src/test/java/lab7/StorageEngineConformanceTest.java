@@ -0,0 +1,100 @@
+package lab7;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StorageEngineConformanceTest {
+    @TempDir
+    Path directory;
+
+    private final MemoryStorageEngine memory = new MemoryStorageEngine();
+
+    private StorageEngine open(String kind) {
+        return kind.equals("memory") ? memory : new FileStorageEngine(directory.resolve(kind));
+    }
+
+    private static List<Exhibition> sample() {
+        return new ArrayList<>(Arrays.asList(
+                new Exhibition("Пейзажі", "Шевченко", "Понеділок", 120, "тихо, спокійно"),
+                new Exhibition("Лапки \"так\"", "О'Коннор", "П'ятниця", 0, "рядок\nдругий рядок"),
+                new Exhibition("Порожній коментар", "Мурашко", "2024-05-01", Integer.MAX_VALUE, ""),
+                new Exhibition("Кома в кінці", "Ivanenko", "Неділя", 7, "кома в кінці,")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "exhibitions.txt", "exhibitions.bin", "exhibitions.mmap"})
+    void emptyStorage(String kind) throws IOException {
+        assertTrue(rows(open(kind)).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "exhibitions.txt", "exhibitions.bin", "exhibitions.mmap"})
+    void saveAndLoad(String kind) throws IOException {
+        open(kind).save(sample());
+        assertEquals(json(sample()), rows(open(kind)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "exhibitions.txt", "exhibitions.bin", "exhibitions.mmap"})
+    void saveReplacesContents(String kind) throws IOException {
+        open(kind).save(sample());
+        open(kind).save(sample().subList(1, 2));
+        assertEquals(json(sample().subList(1, 2)), rows(open(kind)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "exhibitions.txt", "exhibitions.bin", "exhibitions.mmap"})
+    void saveCopiesRows(String kind) throws IOException {
+        List<Exhibition> rows = sample();
+        StorageEngine storage = open(kind);
+        storage.save(rows);
+        rows.get(0).setComments("змінено після збереження");
+        assertEquals(json(sample()), rows(storage));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"memory", "exhibitions.txt", "exhibitions.bin", "exhibitions.mmap"})
+    void databaseChangesSurviveReopen(String kind) throws IOException {
+        open(kind).save(Collections.emptyList());
+        ExhibitionDatabase database = new ExhibitionDatabase(open(kind));
+        database.loadFromFile();
+        for (Exhibition exhibition : sample()) {
+            database.addExhibition(exhibition);
+        }
+        database.addExhibition(new Exhibition("ПЕЙЗАЖІ", "Дублікат", "Вівторок", 1, ""));
+        database.editExhibition("лапки \"так\"", new Exhibition("Лапки", "О'Коннор", "Субота", 5, "змінено"));
+        database.deleteExhibition("Пейзажі");
+        ExhibitionDatabase reopened = new ExhibitionDatabase(open(kind));
+        reopened.loadFromFile();
+        assertEquals(3, reopened.size());
+        assertEquals(json(database.getExhibitions()), json(reopened.getExhibitions()));
+    }
+
+    private static List<String> rows(StorageEngine storage) throws IOException {
+        List<Exhibition> rows = new ArrayList<>();
+        int count = storage.load((name, artistLastName, day, visitorsCount, comments) ->
+                rows.add(new Exhibition(name, artistLastName, day, visitorsCount, comments)));
+        assertEquals(rows.size(), count);
+        return json(rows);
+    }
+
+    private static List<String> json(Collection<Exhibition> rows) {
+        List<String> result = new ArrayList<>(rows.size());
+        for (Exhibition exhibition : rows) {
+            result.add(ExhibitionJson.appendObject(new StringBuilder(), exhibition).toString());
+        }
+        return result;
+    }
+}
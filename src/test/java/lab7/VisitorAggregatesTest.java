@@ -0,0 +1,39 @@
+package lab7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VisitorAggregatesTest {
+    @Test
+    void spellingsOfOneDayShareATotal() {
+        VisitorAggregates aggregates = new VisitorAggregates();
+        Exhibition wednesday = new Exhibition("Пейзажі", "Шевченко", "Середа", 10, "");
+        aggregates.add(wednesday);
+        aggregates.add(new Exhibition("Графіка", "Нарбут", "середа", 5, ""));
+        aggregates.add(new Exhibition("Портрети", "Мурашко", "ср", 1, ""));
+        aggregates.add(new Exhibition("Ескізи", "Мурашко", "2024-03-01", 4, ""));
+        aggregates.add(new Exhibition("Етюди", "Білокур", "01.03.2024", 2, ""));
+
+        assertEquals(16, aggregates.getDayTotal("СЕРЕДА"));
+        assertEquals(6, aggregates.getDayTotal("2024-03-01"));
+        assertEquals(Map.of("Середа", 16L, "2024-03-01", 6L), aggregates.getDayTotals());
+        assertEquals(Map.entry("2024-03-01", 6L), aggregates.getQuietestDay());
+
+        aggregates.remove(wednesday);
+        assertEquals(Map.of("Середа", 6L, "2024-03-01", 6L), aggregates.getDayTotals());
+    }
+
+    @Test
+    void parsedDaysSurviveCacheChurn() {
+        ExhibitionDay wednesday = ExhibitionDay.of("Середа");
+        for (int i = 0; i < 10_000; i++) {
+            ExhibitionDay.of("день " + i);
+            ExhibitionDay.of("Середа");
+        }
+        assertSame(wednesday, ExhibitionDay.of("Середа"));
+    }
+}